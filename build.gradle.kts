@@ -17,3 +17,15 @@ ihmc {
 mainDependencies {
 }
 
+testDependencies {
+   api("org.junit.jupiter:junit-jupiter-api:5.6.2")
+   // Monocle built for JavaFX 8, which is the JavaFX bundled with the JDK 8 this project builds with.
+   // It has to match the JavaFX version, e.g. org.testfx:openjfx-monocle:jdk-12.0.1+2 for JavaFX 11 and later.
+   api("org.testfx:openjfx-monocle:8u76-b04")
+}
+
+benchmarksDependencies {
+   api("org.openjdk.jmh:jmh-core:1.23")
+   annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.23")
+}
+
@@ -0,0 +1,76 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the transformation and decimation of a series into the vertices to draw, for a plot
+ * 1000 pixels wide showing the entire series.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicSeriesDecimatorBenchmark
+{
+   private static final double WIDTH = 1000.0;
+   private static final double HEIGHT = 400.0;
+
+   @Param({"1000", "100000", "1000000"})
+   public int size;
+
+   @Param({"NONE", "MIN_MAX", "LTTB"})
+   public DecimationMode mode;
+
+   private DoubleRingBufferSeries series;
+   private final DynamicSeriesDecimator decimator = new DynamicSeriesDecimator();
+   private final DynamicAxisTransform xTransform = new DynamicAxisTransform();
+   private final DynamicAxisTransform yTransform = new DynamicAxisTransform();
+
+   @Setup(Level.Trial)
+   public void setup()
+   {
+      series = new DoubleRingBufferSeries("benchmark", size, true);
+
+      for (int i = 0; i < size; i++)
+      {
+         series.append(i * 1.0e-3, Math.sin(i * 1.0e-2) + 0.1 * Math.sin(i * 1.3));
+      }
+      series.update();
+
+      xTransform.set(series.getMinX(), 0.0, WIDTH / (series.getMaxX() - series.getMinX()));
+      yTransform.set(series.getMinY(), HEIGHT, -HEIGHT / (series.getMaxY() - series.getMinY()));
+   }
+
+   @Benchmark
+   public int decimate()
+   {
+      return decimator.decimate(series, 0, series.size(), xTransform, yTransform, WIDTH, mode);
+   }
+
+   @Benchmark
+   public int decimateLevelOfDetail()
+   {
+      LevelOfDetailIndex levelOfDetail = series.getLevelOfDetail();
+      int level = levelOfDetail.selectLevel(series.size(), WIDTH);
+
+      if (level < 0)
+         return decimator.decimate(series, 0, series.size(), xTransform, yTransform, WIDTH, mode);
+      else
+         return decimator.decimate(levelOfDetail, level, series.getSequence(0), series.getSequence(series.size() - 1), xTransform, yTransform);
+   }
+}
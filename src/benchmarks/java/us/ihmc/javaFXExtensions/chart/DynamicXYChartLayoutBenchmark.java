@@ -0,0 +1,121 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.javafx.application.PlatformImpl;
+
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.chart.NumberAxis;
+
+/**
+ * Measures the layout of a {@link DynamicLineChart} plotting a scrolling series: the negotiation of
+ * the axis sizes, the computation of the axis ranges, and the full layout pass.
+ * <p>
+ * The chart is part of a scene that is never shown, so it can be laid out from the benchmark
+ * thread. The JavaFX toolkit is started once as it is needed to measure the tick labels.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicXYChartLayoutBenchmark
+{
+   private static final double WIDTH = 1000.0;
+   private static final double HEIGHT = 400.0;
+
+   @Param({"1000", "100000"})
+   public int size;
+
+   private DynamicLineChart chart;
+   private DoubleRingBufferSeries series;
+   private long sample;
+
+   @Setup(Level.Trial)
+   public void setup()
+   {
+      startToolkit();
+
+      chart = new DynamicLineChart(new NumberAxis(), new NumberAxis());
+      series = new DoubleRingBufferSeries("benchmark", size);
+      chart.getSeries().add(series);
+      new Scene(new Group(chart), WIDTH, HEIGHT);
+      chart.applyCss();
+      chart.resize(WIDTH, HEIGHT);
+
+      for (sample = 0; sample < size; sample++)
+      {
+         appendSample();
+      }
+      chart.layoutChartChildren(0.0, 0.0, WIDTH, HEIGHT);
+   }
+
+   private static void startToolkit()
+   {
+      try
+      {
+         PlatformImpl.startup(() ->
+         {
+         });
+      }
+      catch (IllegalStateException e)
+      {
+         // Already started by a previous trial in the same JVM.
+      }
+   }
+
+   private void appendSample()
+   {
+      series.append(sample * 1.0e-3, Math.sin(sample * 1.0e-2));
+   }
+
+   /**
+    * Sizes and lays out the axes from scratch, as happens when the chart is resized or the tick
+    * labels change.
+    */
+   @Benchmark
+   public void axisNegotiation()
+   {
+      chart.invalidateAxisLayout();
+      chart.layoutChartChildren(0.0, 0.0, WIDTH, HEIGHT);
+   }
+
+   /**
+    * Ingests a new sample, evicting the oldest one, and updates the range of the axes.
+    */
+   @Benchmark
+   public void updateAxisRange()
+   {
+      appendSample();
+      sample++;
+      chart.updateAxisRange();
+   }
+
+   /**
+    * Ingests a new sample and lays out the entire chart, i.e. the work done at every frame while
+    * streaming data.
+    */
+   @Benchmark
+   public void layoutChartChildren()
+   {
+      appendSample();
+      sample++;
+      chart.layoutChartChildren(0.0, 0.0, WIDTH, HEIGHT);
+   }
+}
@@ -0,0 +1,107 @@
+package us.ihmc.javaFXExtensions.control;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the stepping of {@link LongSpinnerValueFactory},
+ * {@link UnboundedDoubleSpinnerValueFactory}, and {@link PrimitiveLongSpinnerValueFactory}, both
+ * within their bounds and when wrapping around.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpinnerValueFactoryBenchmark
+{
+   private LongSpinnerValueFactory longFactory;
+   private LongSpinnerValueFactory longWrappingFactory;
+   private UnboundedDoubleSpinnerValueFactory doubleFactory;
+   private UnboundedDoubleSpinnerValueFactory doubleWrappingFactory;
+   private PrimitiveLongSpinnerValueFactory primitiveLongFactory;
+   private long longValue;
+   private double doubleValue;
+
+   @Setup(Level.Trial)
+   public void setup()
+   {
+      longFactory = new LongSpinnerValueFactory(Long.MIN_VALUE / 2, Long.MAX_VALUE / 2, 0L);
+      longWrappingFactory = new LongSpinnerValueFactory(0L, 100L, 0L, 7L);
+      longWrappingFactory.setWrapAround(true);
+      doubleFactory = new UnboundedDoubleSpinnerValueFactory(-1.0e12, 1.0e12, 0.0);
+      doubleWrappingFactory = new UnboundedDoubleSpinnerValueFactory(0.0, 100.0, 0.0, 7.0);
+      doubleWrappingFactory.setWrapAround(true);
+      primitiveLongFactory = new PrimitiveLongSpinnerValueFactory(Long.MIN_VALUE / 2, Long.MAX_VALUE / 2, 1000L);
+   }
+
+   @Benchmark
+   public Long longIncrementDecrement()
+   {
+      longFactory.increment(1);
+      longFactory.decrement(1);
+      return longFactory.getValue();
+   }
+
+   @Benchmark
+   public Long longWrapAround()
+   {
+      longWrappingFactory.increment(1);
+      return longWrappingFactory.getValue();
+   }
+
+   @Benchmark
+   public long longWrapValue()
+   {
+      return LongSpinnerValueFactory.wrapValue(longValue++, 3L, 100L);
+   }
+
+   @Benchmark
+   public Double doubleIncrementDecrement()
+   {
+      doubleFactory.increment(1);
+      doubleFactory.decrement(1);
+      return doubleFactory.getValue();
+   }
+
+   @Benchmark
+   public Double doubleWrapAround()
+   {
+      doubleWrappingFactory.increment(1);
+      return doubleWrappingFactory.getValue();
+   }
+
+   @Benchmark
+   public double doubleWrapValue()
+   {
+      doubleValue += 0.7;
+      return UnboundedDoubleSpinnerValueFactory.wrapValue(doubleValue, 3.0, 100.0);
+   }
+
+   @Benchmark
+   public long primitiveLongIncrementDecrement()
+   {
+      primitiveLongFactory.increment(1);
+      primitiveLongFactory.decrement(1);
+      return primitiveLongFactory.getLongValue();
+   }
+
+   @Benchmark
+   public Long primitiveLongConverterRoundTrip()
+   {
+      // What the Spinner does when committing the text of its editor.
+      return primitiveLongFactory.getConverter().fromString(primitiveLongFactory.getConverter().toString(primitiveLongFactory.getValue()));
+   }
+}
@@ -0,0 +1,202 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+
+/**
+ * Computes the range to display on an auto-ranging axis from the bounds of the data.
+ * <p>
+ * Re-ranging an axis is expensive as it recomputes its tick marks and relayouts its labels. With a
+ * live signal the bounds of the data change slightly on every frame, this policy keeps the range
+ * displayed as long as the data fits in it reasonably well:
+ * <ul>
+ * <li>the range grows only when the data goes outside of it, in which case it is padded on each
+ * side by {@link #hysteresisProperty() hysteresis} times the data span.
+ * <li>the range shrinks only when the data covers less than {@code 1 / (1 + 4 * hysteresis)} of
+ * it.
+ * <li>when {@link #snapToNiceNumbersProperty() snapToNiceNumbers} is enabled, the bounds are
+ * rounded to multiples of a nice tick unit, i.e. 1, 2, 2.5, or 5 times a power of 10.
+ * </ul>
+ * </p>
+ */
+public class AutoRangePolicy
+{
+   private static final double[] NICE_FACTORS = {1.0, 2.0, 2.5, 5.0, 10.0};
+
+   private double lowerBound = Double.NaN;
+   private double upperBound = Double.NaN;
+
+   /**
+    * Creates a new policy.
+    *
+    * @param hysteresis        the padding relative to the data span used when re-ranging.
+    * @param snapToNiceNumbers whether the bounds should be rounded to nice numbers.
+    */
+   public AutoRangePolicy(double hysteresis, boolean snapToNiceNumbers)
+   {
+      setHysteresis(hysteresis);
+      setSnapToNiceNumbers(snapToNiceNumbers);
+   }
+
+   /**
+    * Updates the range to display given the current bounds of the data.
+    *
+    * @param dataMin the minimum value of the data.
+    * @param dataMax the maximum value of the data.
+    * @return {@code true} if the range has changed and the axis needs to be updated.
+    */
+   public boolean update(double dataMin, double dataMax)
+   {
+      if (!(dataMin <= dataMax) || Double.isInfinite(dataMin) || Double.isInfinite(dataMax))
+         return false;
+
+      double hysteresis = Math.max(0.0, getHysteresis());
+      double dataSpan = dataMax - dataMin;
+
+      if (!Double.isNaN(lowerBound))
+      {
+         boolean contained = dataMin >= lowerBound && dataMax <= upperBound;
+         boolean tooLarge = upperBound - lowerBound > (1.0 + 4.0 * hysteresis) * dataSpan;
+
+         if (contained && !tooLarge)
+            return false;
+      }
+
+      double padding = hysteresis * dataSpan;
+      double newLowerBound = dataMin - padding;
+      double newUpperBound = dataMax + padding;
+
+      if (isSnapToNiceNumbers() && newUpperBound > newLowerBound)
+      {
+         double tickUnit = computeNiceTickUnit(newUpperBound - newLowerBound, getTargetTickCount());
+         newLowerBound = Math.floor(newLowerBound / tickUnit) * tickUnit;
+         newUpperBound = Math.ceil(newUpperBound / tickUnit) * tickUnit;
+      }
+
+      // Snapping often yields the same range, in which case there is nothing to update.
+      if (newLowerBound == lowerBound && newUpperBound == upperBound)
+         return false;
+
+      lowerBound = newLowerBound;
+      upperBound = newUpperBound;
+      return true;
+   }
+
+   /**
+    * Computes the smallest nice tick unit such that the given span is divided in at most the given
+    * number of ticks.
+    *
+    * @param span      the span to divide.
+    * @param tickCount the desired number of tick units.
+    * @return the nice tick unit, i.e. 1, 2, 2.5, or 5 times a power of 10.
+    */
+   static double computeNiceTickUnit(double span, int tickCount)
+   {
+      if (!(span > 0.0))
+         return 1.0;
+
+      double rawTickUnit = span / Math.max(1, tickCount);
+      double magnitude = Math.pow(10.0, Math.floor(Math.log10(rawTickUnit)));
+
+      for (double factor : NICE_FACTORS)
+      {
+         if (factor * magnitude >= rawTickUnit)
+            return factor * magnitude;
+      }
+      return 10.0 * magnitude;
+   }
+
+   /**
+    * Forgets the current range, the next call to {@link #update(double, double)} will compute a new
+    * one.
+    */
+   public void reset()
+   {
+      lowerBound = Double.NaN;
+      upperBound = Double.NaN;
+   }
+
+   /**
+    * @return the lower bound of the range to display, {@link Double#NaN} if not computed yet.
+    */
+   public double getLowerBound()
+   {
+      return lowerBound;
+   }
+
+   /**
+    * @return the upper bound of the range to display, {@link Double#NaN} if not computed yet.
+    */
+   public double getUpperBound()
+   {
+      return upperBound;
+   }
+
+   // --- hysteresis
+   private final DoubleProperty hysteresis = new SimpleDoubleProperty(this, "hysteresis");
+
+   public final void setHysteresis(double value)
+   {
+      hysteresis.set(value);
+   }
+
+   public final double getHysteresis()
+   {
+      return hysteresis.get();
+   }
+
+   /**
+    * The padding added on each side of the data when re-ranging, relative to the data span. A value
+    * of 0 makes the range follow the data exactly.
+    */
+   public final DoubleProperty hysteresisProperty()
+   {
+      return hysteresis;
+   }
+
+   // --- snapToNiceNumbers
+   private final BooleanProperty snapToNiceNumbers = new SimpleBooleanProperty(this, "snapToNiceNumbers");
+
+   public final void setSnapToNiceNumbers(boolean value)
+   {
+      snapToNiceNumbers.set(value);
+   }
+
+   public final boolean isSnapToNiceNumbers()
+   {
+      return snapToNiceNumbers.get();
+   }
+
+   /**
+    * Whether the bounds of the range should be rounded to multiples of a nice tick unit.
+    */
+   public final BooleanProperty snapToNiceNumbersProperty()
+   {
+      return snapToNiceNumbers;
+   }
+
+   // --- targetTickCount
+   private final IntegerProperty targetTickCount = new SimpleIntegerProperty(this, "targetTickCount", 5);
+
+   public final void setTargetTickCount(int value)
+   {
+      targetTickCount.set(value);
+   }
+
+   public final int getTargetTickCount()
+   {
+      return targetTickCount.get();
+   }
+
+   /**
+    * The number of tick units used to compute the nice tick unit when snapping. Default value is 5.
+    */
+   public final IntegerProperty targetTickCountProperty()
+   {
+      return targetTickCount;
+   }
+}
@@ -0,0 +1,332 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Series that keeps its most recent samples in a {@link DoubleRingBufferSeries} and compresses the
+ * older samples instead of discarding them.
+ * <p>
+ * Samples evicted from the ring buffer are appended to blocks of compressed samples, see
+ * {@link CompressedSampleBlock}, which typically use a fraction of the memory of the raw samples.
+ * The memory used by the compressed history of all the series is limited by the
+ * {@link SeriesMemoryBudget}, which discards the oldest blocks of the least recently viewed series
+ * first.
+ * </p>
+ * <p>
+ * The x-coordinates have to be increasing, which allows the chart to only decompress the blocks in
+ * the visible range. Blocks narrower than a pixel are plotted from their summary, see
+ * {@link CompressedSampleBlock}, such that the whole history can be plotted without decoding every
+ * block.
+ * </p>
+ */
+public class CompressedHistorySeries extends DoubleRingBufferSeries
+{
+   private final List<CompressedSampleBlock> blocks = new ArrayList<>();
+   /** Number of samples in the compressed blocks, all the blocks but the last are full. */
+   private int compressedSize = 0;
+   private long compressedMemoryUsage = 0L;
+   private boolean blockAdded = false;
+
+   private double compressedMinX = Double.POSITIVE_INFINITY;
+   private double compressedMaxX = Double.NEGATIVE_INFINITY;
+   private double compressedMinY = Double.POSITIVE_INFINITY;
+   private double compressedMaxY = Double.NEGATIVE_INFINITY;
+
+   /** Cache of the last decoded block, the chart mostly reads the samples sequentially. */
+   private CompressedSampleBlock decodedBlock = null;
+   private int decodedSize = 0;
+   private final double[] decodedX = new double[CompressedSampleBlock.CAPACITY];
+   private final double[] decodedY = new double[CompressedSampleBlock.CAPACITY];
+
+   private long lastViewedTime = Long.MIN_VALUE;
+
+   /**
+    * Creates a new series.
+    *
+    * @param name           the name of this series.
+    * @param recentCapacity the number of most recent samples to keep uncompressed.
+    */
+   public CompressedHistorySeries(String name, int recentCapacity)
+   {
+      super(name, recentCapacity);
+      SeriesMemoryBudget.getInstance().register(this);
+   }
+
+   @Override
+   protected void sampleEvicted(long sequence, double x, double y)
+   {
+      CompressedSampleBlock block = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+
+      if (block == null || block.isFull())
+      {
+         block = new CompressedSampleBlock();
+         blocks.add(block);
+         compressedMemoryUsage += block.getMemoryUsage();
+         blockAdded = true;
+      }
+
+      long previousMemoryUsage = block.getMemoryUsage();
+      block.add(x, y);
+
+      if (block.isFull())
+         block.trim();
+
+      compressedMemoryUsage += block.getMemoryUsage() - previousMemoryUsage;
+      compressedSize++;
+      // Comparisons rather than Math.min/max so NaN values are ignored.
+      if (x < compressedMinX)
+         compressedMinX = x;
+      if (x > compressedMaxX)
+         compressedMaxX = x;
+      if (y < compressedMinY)
+         compressedMinY = y;
+      if (y > compressedMaxY)
+         compressedMaxY = y;
+   }
+
+   @Override
+   public boolean update()
+   {
+      boolean hasChanged = super.update();
+
+      if (blockAdded)
+      {
+         blockAdded = false;
+         SeriesMemoryBudget.getInstance().enforce();
+      }
+
+      return hasChanged;
+   }
+
+   /**
+    * Discards the oldest block of compressed samples.
+    *
+    * @return the memory released in bytes.
+    */
+   long discardOldestBlock()
+   {
+      if (blocks.isEmpty())
+         return 0L;
+
+      CompressedSampleBlock block = blocks.remove(0);
+      compressedSize -= block.size();
+      compressedMemoryUsage -= block.getMemoryUsage();
+      if (block == decodedBlock)
+         decodedBlock = null;
+
+      compressedMinX = Double.POSITIVE_INFINITY;
+      compressedMaxX = Double.NEGATIVE_INFINITY;
+      compressedMinY = Double.POSITIVE_INFINITY;
+      compressedMaxY = Double.NEGATIVE_INFINITY;
+
+      for (int i = 0; i < blocks.size(); i++)
+      {
+         CompressedSampleBlock other = blocks.get(i);
+         // Same comparisons as in sampleEvicted(...), the bounds of a block are infinite rather than NaN
+         // when all its values are NaN.
+         if (other.getMinX() < compressedMinX)
+            compressedMinX = other.getMinX();
+         if (other.getMaxX() > compressedMaxX)
+            compressedMaxX = other.getMaxX();
+         if (other.getMinY() < compressedMinY)
+            compressedMinY = other.getMinY();
+         if (other.getMaxY() > compressedMaxY)
+            compressedMaxY = other.getMaxY();
+      }
+
+      return block.getMemoryUsage();
+   }
+
+   /**
+    * Discards all the samples of this series, including the compressed history.
+    */
+   @Override
+   public void clear()
+   {
+      super.clear();
+      blocks.clear();
+      compressedSize = 0;
+      compressedMemoryUsage = 0L;
+      decodedBlock = null;
+      compressedMinX = Double.POSITIVE_INFINITY;
+      compressedMaxX = Double.NEGATIVE_INFINITY;
+      compressedMinY = Double.POSITIVE_INFINITY;
+      compressedMaxY = Double.NEGATIVE_INFINITY;
+   }
+
+   /**
+    * @return the memory used by the compressed history in bytes.
+    */
+   public long getCompressedMemoryUsage()
+   {
+      return compressedMemoryUsage;
+   }
+
+   /**
+    * @return the number of samples in the compressed history.
+    */
+   public int getCompressedSize()
+   {
+      return compressedSize;
+   }
+
+   /**
+    * @return the time in nanoseconds at which the compressed history was last plotted.
+    */
+   long getLastViewedTime()
+   {
+      return lastViewedTime;
+   }
+
+   @Override
+   public boolean isSortedByX()
+   {
+      return true;
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * Reading the compressed history decodes the blocks in a cache shared by all the readers, this
+    * series returns {@code false}.
+    * </p>
+    */
+   @Override
+   public boolean isThreadSafeForReading()
+   {
+      return false;
+   }
+
+   @Override
+   public int lowerIndexOfX(double x)
+   {
+      if (compressedSize == 0 || x > compressedMaxX)
+      {
+         // Binary search in the recent samples only.
+         int low = 0;
+         int high = super.size();
+
+         while (low < high)
+         {
+            int mid = (low + high) >>> 1;
+            if (super.getX(mid) < x)
+               low = mid + 1;
+            else
+               high = mid;
+         }
+         return compressedSize + low;
+      }
+
+      int blockIndex = 0;
+      int high = blocks.size() - 1;
+
+      while (blockIndex < high)
+      {
+         int mid = (blockIndex + high) >>> 1;
+         if (blocks.get(mid).getMaxX() < x)
+            blockIndex = mid + 1;
+         else
+            high = mid;
+      }
+
+      int blockStart = blockIndex << CompressedSampleBlock.CAPACITY_SHIFT;
+      int low = blockStart;
+      int end = blockStart + blocks.get(blockIndex).size();
+
+      while (low < end)
+      {
+         int mid = (low + end) >>> 1;
+         if (getX(mid) < x)
+            low = mid + 1;
+         else
+            end = mid;
+      }
+      return low;
+   }
+
+   @Override
+   CompressedSampleBlock getBlockStartingAt(int index)
+   {
+      if (index >= compressedSize || (index & (CompressedSampleBlock.CAPACITY - 1)) != 0)
+         return null;
+      else
+         return blocks.get(index >>> CompressedSampleBlock.CAPACITY_SHIFT);
+   }
+
+   @Override
+   void samplesDrawn(int from, int to)
+   {
+      // Only drawing the compressed history counts as viewing it, not merely reading it.
+      if (from < compressedSize)
+         lastViewedTime = System.nanoTime();
+   }
+
+   private int decode(int index)
+   {
+      CompressedSampleBlock block = blocks.get(index >>> CompressedSampleBlock.CAPACITY_SHIFT);
+
+      if (block != decodedBlock || block.size() != decodedSize)
+      {
+         block.decode(decodedX, decodedY);
+         decodedBlock = block;
+         decodedSize = block.size();
+      }
+
+      return index & (CompressedSampleBlock.CAPACITY - 1);
+   }
+
+   @Override
+   public double getMinX()
+   {
+      return Math.min(compressedMinX, super.getMinX());
+   }
+
+   @Override
+   public double getMaxX()
+   {
+      return Math.max(compressedMaxX, super.getMaxX());
+   }
+
+   @Override
+   public double getMinY()
+   {
+      return Math.min(compressedMinY, super.getMinY());
+   }
+
+   @Override
+   public double getMaxY()
+   {
+      return Math.max(compressedMaxY, super.getMaxY());
+   }
+
+   @Override
+   public long getSequence(int index)
+   {
+      return super.getSequence(0) - compressedSize + index;
+   }
+
+   @Override
+   public int size()
+   {
+      return compressedSize + super.size();
+   }
+
+   @Override
+   public double getX(int index)
+   {
+      if (index < compressedSize)
+         return decodedX[decode(index)];
+      else
+         return super.getX(index - compressedSize);
+   }
+
+   @Override
+   public double getY(int index)
+   {
+      if (index < compressedSize)
+         return decodedY[decode(index)];
+      else
+         return super.getY(index - compressedSize);
+   }
+}
@@ -0,0 +1,380 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.util.Arrays;
+
+/**
+ * Block of up to {@link #CAPACITY} samples compressed as a bit stream.
+ * <p>
+ * The encoding is inspired by the one used in Facebook's Gorilla time series database:
+ * <ul>
+ * <li>the x-coordinates are encoded with delta-of-delta on their raw bits, evenly spaced
+ * x-coordinates mostly cost a single bit each.
+ * <li>the y-coordinates are XOR-ed with the previous one and only the meaningful bits of the result
+ * are written, a slowly changing signal costs a few bits per sample.
+ * </ul>
+ * The encoding is lossless. The block has to be decoded entirely to access its samples, but it also
+ * keeps a summary of its samples, i.e. its first and last samples and its extrema, which allows to
+ * plot a block narrower than a pixel without decoding it.
+ * </p>
+ */
+final class CompressedSampleBlock
+{
+   static final int CAPACITY_SHIFT = 10;
+   static final int CAPACITY = 1 << CAPACITY_SHIFT;
+
+   private long[] words = new long[64];
+   private int bitPosition = 0;
+   private int size = 0;
+
+   private double minX = Double.POSITIVE_INFINITY;
+   private double maxX = Double.NEGATIVE_INFINITY;
+   private double minY = Double.POSITIVE_INFINITY;
+   private double maxY = Double.NEGATIVE_INFINITY;
+   private int minYIndex = -1;
+   private int maxYIndex = -1;
+   private double minYX, maxYX;
+   private double firstX, firstY;
+   private boolean sortedByX = true;
+
+   // Encoder state
+   private long previousX;
+   private long previousDelta;
+   private long previousY;
+   private int previousLeadingZeros = -1;
+   private int previousTrailingZeros;
+
+   // Decoder state
+   private int readPosition;
+
+   CompressedSampleBlock()
+   {
+   }
+
+   /**
+    * Appends a sample to this block, which should not be full.
+    */
+   void add(double x, double y)
+   {
+      long xBits = Double.doubleToRawLongBits(x);
+      long yBits = Double.doubleToRawLongBits(y);
+
+      if (size == 0)
+      {
+         writeBits(xBits, 64);
+         writeBits(yBits, 64);
+         previousDelta = 0L;
+         firstX = x;
+         firstY = y;
+         sortedByX = !Double.isNaN(x);
+      }
+      else
+      {
+         if (!(x >= Double.longBitsToDouble(previousX)))
+            sortedByX = false;
+         long delta = xBits - previousX;
+         writeDeltaOfDelta(delta - previousDelta);
+         previousDelta = delta;
+         writeXOR(yBits ^ previousY);
+      }
+
+      previousX = xBits;
+      previousY = yBits;
+
+      // Comparisons rather than Math.min/max so NaN values are ignored, the extrema are the first
+      // occurrences of the min and max values.
+      if (x < minX)
+         minX = x;
+      if (x > maxX)
+         maxX = x;
+      if (y < minY)
+      {
+         minY = y;
+         minYIndex = size;
+         minYX = x;
+      }
+      if (y > maxY)
+      {
+         maxY = y;
+         maxYIndex = size;
+         maxYX = x;
+      }
+
+      size++;
+   }
+
+   private void writeDeltaOfDelta(long deltaOfDelta)
+   {
+      // Zig-zag encoding maps small negative values to small positive values, the result is unsigned.
+      long zigZag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+
+      if (zigZag == 0L)
+      {
+         writeBits(0b0, 1);
+      }
+      else if ((zigZag >>> 7) == 0L)
+      {
+         writeBits(0b10, 2);
+         writeBits(zigZag, 7);
+      }
+      else if ((zigZag >>> 12) == 0L)
+      {
+         writeBits(0b110, 3);
+         writeBits(zigZag, 12);
+      }
+      else if ((zigZag >>> 20) == 0L)
+      {
+         writeBits(0b1110, 4);
+         writeBits(zigZag, 20);
+      }
+      else
+      {
+         writeBits(0b1111, 4);
+         writeBits(zigZag, 64);
+      }
+   }
+
+   private void writeXOR(long xor)
+   {
+      if (xor == 0L)
+      {
+         writeBits(0b0, 1);
+         return;
+      }
+
+      int leadingZeros = Long.numberOfLeadingZeros(xor);
+      int trailingZeros = Long.numberOfTrailingZeros(xor);
+
+      if (previousLeadingZeros >= 0 && leadingZeros >= previousLeadingZeros && trailingZeros >= previousTrailingZeros)
+      {
+         // The meaningful bits fit in the previous window.
+         writeBits(0b10, 2);
+         writeBits(xor >>> previousTrailingZeros, 64 - previousLeadingZeros - previousTrailingZeros);
+      }
+      else
+      {
+         int meaningfulBits = 64 - leadingZeros - trailingZeros;
+         writeBits(0b11, 2);
+         writeBits(leadingZeros, 6);
+         writeBits(meaningfulBits - 1, 6);
+         writeBits(xor >>> trailingZeros, meaningfulBits);
+         previousLeadingZeros = leadingZeros;
+         previousTrailingZeros = trailingZeros;
+      }
+   }
+
+   private void writeBits(long value, int numberOfBits)
+   {
+      int requiredWords = (bitPosition + numberOfBits + 63) >>> 6;
+      if (requiredWords > words.length)
+         words = Arrays.copyOf(words, Math.max(requiredWords, 2 * words.length));
+
+      if (numberOfBits < 64)
+         value &= (1L << numberOfBits) - 1L;
+
+      int wordIndex = bitPosition >>> 6;
+      int freeBits = 64 - (bitPosition & 63);
+
+      if (numberOfBits <= freeBits)
+      {
+         words[wordIndex] |= value << (freeBits - numberOfBits);
+      }
+      else
+      {
+         int overflow = numberOfBits - freeBits;
+         words[wordIndex] |= value >>> overflow;
+         words[wordIndex + 1] |= value << (64 - overflow);
+      }
+
+      bitPosition += numberOfBits;
+   }
+
+   /**
+    * Decodes all the samples of this block.
+    *
+    * @param xs the array in which the x-coordinates are stored, of length {@link #CAPACITY} at least.
+    * @param ys the array in which the y-coordinates are stored, of length {@link #CAPACITY} at least.
+    */
+   void decode(double[] xs, double[] ys)
+   {
+      if (size == 0)
+         return;
+
+      readPosition = 0;
+      long x = readBits(64);
+      long y = readBits(64);
+      long delta = 0L;
+      int leadingZeros = 0;
+      int trailingZeros = 0;
+      xs[0] = Double.longBitsToDouble(x);
+      ys[0] = Double.longBitsToDouble(y);
+
+      for (int i = 1; i < size; i++)
+      {
+         delta += readDeltaOfDelta();
+         x += delta;
+
+         if (readBits(1) != 0L)
+         {
+            if (readBits(1) != 0L)
+            {
+               leadingZeros = (int) readBits(6);
+               int meaningfulBits = (int) readBits(6) + 1;
+               trailingZeros = 64 - leadingZeros - meaningfulBits;
+            }
+            y ^= readBits(64 - leadingZeros - trailingZeros) << trailingZeros;
+         }
+
+         xs[i] = Double.longBitsToDouble(x);
+         ys[i] = Double.longBitsToDouble(y);
+      }
+   }
+
+   private long readDeltaOfDelta()
+   {
+      long zigZag;
+
+      if (readBits(1) == 0L)
+         return 0L;
+      else if (readBits(1) == 0L)
+         zigZag = readBits(7);
+      else if (readBits(1) == 0L)
+         zigZag = readBits(12);
+      else if (readBits(1) == 0L)
+         zigZag = readBits(20);
+      else
+         zigZag = readBits(64);
+
+      return (zigZag >>> 1) ^ -(zigZag & 1L);
+   }
+
+   private long readBits(int numberOfBits)
+   {
+      int wordIndex = readPosition >>> 6;
+      int bitOffset = readPosition & 63;
+      int freeBits = 64 - bitOffset;
+      long result;
+
+      if (numberOfBits <= freeBits)
+      {
+         result = (words[wordIndex] << bitOffset) >>> (64 - numberOfBits);
+      }
+      else
+      {
+         int overflow = numberOfBits - freeBits;
+         long high = words[wordIndex] & ((1L << freeBits) - 1L);
+         result = (high << overflow) | (words[wordIndex + 1] >>> (64 - overflow));
+      }
+
+      readPosition += numberOfBits;
+      return result;
+   }
+
+   /**
+    * Releases the unused memory of the bit stream, to be called once the block is full.
+    */
+   void trim()
+   {
+      words = Arrays.copyOf(words, (bitPosition + 63) >>> 6);
+   }
+
+   boolean isFull()
+   {
+      return size == CAPACITY;
+   }
+
+   int size()
+   {
+      return size;
+   }
+
+   /**
+    * @return an estimate of the memory used by this block in bytes.
+    */
+   long getMemoryUsage()
+   {
+      return 128L + 8L * words.length;
+   }
+
+   double getMinX()
+   {
+      return minX;
+   }
+
+   double getMaxX()
+   {
+      return maxX;
+   }
+
+   double getMinY()
+   {
+      return minY;
+   }
+
+   double getMaxY()
+   {
+      return maxY;
+   }
+
+   /**
+    * @return {@code true} if the x-coordinates of this block are sorted in ascending order and are
+    *         not NaN.
+    */
+   boolean isSortedByX()
+   {
+      return sortedByX;
+   }
+
+   double getFirstX()
+   {
+      return firstX;
+   }
+
+   double getFirstY()
+   {
+      return firstY;
+   }
+
+   double getLastX()
+   {
+      return Double.longBitsToDouble(previousX);
+   }
+
+   double getLastY()
+   {
+      return Double.longBitsToDouble(previousY);
+   }
+
+   /**
+    * @return the index in this block of the first sample with the minimum y-coordinate, or -1 if all
+    *         the y-coordinates are NaN.
+    */
+   int getMinYIndex()
+   {
+      return minYIndex;
+   }
+
+   /**
+    * @return the x-coordinate of the sample at {@link #getMinYIndex()}.
+    */
+   double getMinYX()
+   {
+      return minYX;
+   }
+
+   /**
+    * @return the index in this block of the first sample with the maximum y-coordinate, or -1 if all
+    *         the y-coordinates are NaN.
+    */
+   int getMaxYIndex()
+   {
+      return maxYIndex;
+   }
+
+   /**
+    * @return the x-coordinate of the sample at {@link #getMaxYIndex()}.
+    */
+   double getMaxYX()
+   {
+      return maxYX;
+   }
+}
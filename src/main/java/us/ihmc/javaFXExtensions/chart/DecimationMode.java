@@ -0,0 +1,22 @@
+package us.ihmc.javaFXExtensions.chart;
+
+/**
+ * Strategies available to reduce the number of vertices drawn for a series when it has more
+ * samples than the plot has horizontal pixels.
+ */
+public enum DecimationMode
+{
+   /** Every sample is drawn. */
+   NONE,
+   /**
+    * For each pixel column, only the first, minimum, maximum, and last samples are drawn. The
+    * rendered line is visually identical to drawing every sample, spikes included.
+    */
+   MIN_MAX,
+   /**
+    * The samples are reduced to about two vertices per pixel column using the
+    * Largest-Triangle-Three-Buckets algorithm, which preserves the overall shape of the signal but
+    * may miss isolated spikes.
+    */
+   LTTB
+}
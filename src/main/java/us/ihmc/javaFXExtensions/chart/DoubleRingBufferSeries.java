@@ -0,0 +1,489 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.nio.DoubleBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-capacity series backed by primitive arrays that can be fed from a thread other than the
+ * JavaFX Application Thread.
+ * <p>
+ * A single producer thread appends samples with {@link #append(double, double)}, or in batches with
+ * {@link #append(double[], double[], int, int)}, without locking nor allocating. The samples are
+ * first written in a staging buffer and are only made visible to the chart when it calls
+ * {@link #update()}, which happens once per pulse at the beginning of the chart layout. When the
+ * capacity is reached, the oldest samples are discarded.
+ * </p>
+ * <p>
+ * Only one thread should call the {@code append} methods, all the other methods should only be
+ * called from the JavaFX Application Thread.
+ * </p>
+ */
+public class DoubleRingBufferSeries extends DynamicSeries
+{
+   private final int capacity;
+   private final int mask;
+   /**
+    * Maximum number of samples written to the staging buffer before being published, such that the
+    * samples being written only overwrite samples older than the capacity. The buffers hold at least
+    * twice the capacity, so a batch of up to the capacity is published at once.
+    */
+   private final int maxPublishLength;
+
+   // Producer side: written by the producer thread, claimed through claimCount and published through writeCount.
+   private final double[] stagingX;
+   private final double[] stagingY;
+   private final AtomicLong writeCount = new AtomicLong(0L);
+   /** Sequence number up to which the producer may be writing, set before writing the samples. */
+   private final AtomicLong claimCount = new AtomicLong(0L);
+   private long producerCount = 0L;
+
+   // Consumer side: only accessed from the JavaFX Application Thread.
+   private final double[] historyX;
+   private final double[] historyY;
+   /** Sequence number of the oldest sample visible to the chart. */
+   private long historyStart = 0L;
+   /** Sequence number following the newest sample visible to the chart. */
+   private long historyEnd = 0L;
+   /** Same as historyEnd, written after each copy from the staging buffer to order it. */
+   private volatile long copiedCount = 0L;
+   private final SlidingWindowMinMax xBounds;
+   private final SlidingWindowMinMax yBounds;
+   private final LevelOfDetailIndex levelOfDetail;
+
+   /**
+    * Creates a new series.
+    *
+    * @param name     the name of this series.
+    * @param capacity the maximum number of samples this series holds.
+    */
+   public DoubleRingBufferSeries(String name, int capacity)
+   {
+      this(name, capacity, false);
+   }
+
+   /**
+    * Creates a new series.
+    *
+    * @param name                the name of this series.
+    * @param capacity            the maximum number of samples this series holds.
+    * @param enableLevelOfDetail whether to build a {@link LevelOfDetailIndex} as samples are added,
+    *                            in which case the x-coordinates should be increasing.
+    */
+   public DoubleRingBufferSeries(String name, int capacity, boolean enableLevelOfDetail)
+   {
+      super(name);
+
+      if (capacity <= 0 || capacity > (1 << 29))
+         throw new IllegalArgumentException("Invalid capacity: " + capacity);
+
+      this.capacity = capacity;
+      // Rounding up to a power of two allows to use a mask instead of a modulo to compute indices.
+      int bufferLength = Integer.highestOneBit(capacity);
+      if (bufferLength < capacity)
+         bufferLength <<= 1;
+      // Room for a whole batch of up to the capacity past the samples in the window.
+      bufferLength <<= 1;
+      mask = bufferLength - 1;
+      maxPublishLength = bufferLength - capacity;
+
+      stagingX = new double[bufferLength];
+      stagingY = new double[bufferLength];
+      historyX = new double[bufferLength];
+      historyY = new double[bufferLength];
+      xBounds = new SlidingWindowMinMax(bufferLength);
+      yBounds = new SlidingWindowMinMax(bufferLength);
+      levelOfDetail = enableLevelOfDetail ? new LevelOfDetailIndex(capacity) : null;
+   }
+
+   /**
+    * Appends a new sample to this series.
+    * <p>
+    * This method can be called from any thread as long as it is always the same. The sample becomes
+    * visible to the chart on the next pulse.
+    * </p>
+    *
+    * @param x the x-coordinate of the new sample.
+    * @param y the y-coordinate of the new sample.
+    */
+   public void append(double x, double y)
+   {
+      long sequence = producerCount;
+      claim(sequence + 1);
+      int index = (int) (sequence & mask);
+      stagingX[index] = x;
+      stagingY[index] = y;
+      publish(sequence + 1);
+   }
+
+   /**
+    * Appends a batch of samples to this series.
+    * <p>
+    * This method can be called from any thread as long as it is always the same and is the same
+    * thread calling {@link #append(double, double)}. A batch of up to the capacity of this series is
+    * published at once. Larger batches are published in chunks, such that the samples being written
+    * never overwrite samples the chart may be copying, so a pulse happening while appending may only
+    * show the first part of the batch.
+    * </p>
+    *
+    * @param x      the array containing the x-coordinates of the new samples.
+    * @param y      the array containing the y-coordinates of the new samples.
+    * @param offset the index in the arrays of the first new sample.
+    * @param length the number of new samples.
+    */
+   public void append(double[] x, double[] y, int offset, int length)
+   {
+      append(x, offset, y, offset, length);
+   }
+
+   /**
+    * Appends a batch of samples to this series, reading the x and y-coordinates at different offsets
+    * in their arrays, see {@link #append(double[], double[], int, int)}.
+    *
+    * @param x       the array containing the x-coordinates of the new samples.
+    * @param xOffset the index in {@code x} of the first new sample.
+    * @param y       the array containing the y-coordinates of the new samples.
+    * @param yOffset the index in {@code y} of the first new sample.
+    * @param length  the number of new samples.
+    */
+   public void append(double[] x, int xOffset, double[] y, int yOffset, int length)
+   {
+      if (xOffset < 0 || yOffset < 0 || length < 0 || xOffset + length > x.length || yOffset + length > y.length)
+         throw new IndexOutOfBoundsException("x offset: " + xOffset + ", y offset: " + yOffset + ", length: " + length + ", x length: " + x.length
+               + ", y length: " + y.length);
+
+      long sequence = producerCount;
+      int bufferLength = mask + 1;
+
+      while (length > 0)
+      {
+         int chunkLength = Math.min(length, maxPublishLength);
+         claim(sequence + chunkLength);
+         int index = (int) (sequence & mask);
+         int firstLength = Math.min(chunkLength, bufferLength - index);
+         System.arraycopy(x, xOffset, stagingX, index, firstLength);
+         System.arraycopy(y, yOffset, stagingY, index, firstLength);
+
+         if (firstLength < chunkLength)
+         {
+            System.arraycopy(x, xOffset + firstLength, stagingX, 0, chunkLength - firstLength);
+            System.arraycopy(y, yOffset + firstLength, stagingY, 0, chunkLength - firstLength);
+         }
+
+         sequence += chunkLength;
+         xOffset += chunkLength;
+         yOffset += chunkLength;
+         length -= chunkLength;
+         publish(sequence);
+      }
+   }
+
+   /**
+    * Appends a batch of samples to this series.
+    *
+    * @param x the array containing the x-coordinates of the new samples.
+    * @param y the array containing the y-coordinates of the new samples.
+    * @see #append(double[], double[], int, int)
+    */
+   public void append(double[] x, double[] y)
+   {
+      append(x, y, 0, Math.min(x.length, y.length));
+   }
+
+   /**
+    * Appends a batch of samples to this series reading the remaining elements of the given buffers.
+    * <p>
+    * The number of samples appended is the minimum of the remaining elements of the two buffers, the
+    * position of both buffers is advanced by this number.
+    * </p>
+    *
+    * @param x the buffer containing the x-coordinates of the new samples.
+    * @param y the buffer containing the y-coordinates of the new samples.
+    * @see #append(double[], double[], int, int)
+    */
+   public void append(DoubleBuffer x, DoubleBuffer y)
+   {
+      int length = Math.min(x.remaining(), y.remaining());
+      long sequence = producerCount;
+      int bufferLength = mask + 1;
+
+      while (length > 0)
+      {
+         int chunkLength = Math.min(length, maxPublishLength);
+         claim(sequence + chunkLength);
+         int index = (int) (sequence & mask);
+         int firstLength = Math.min(chunkLength, bufferLength - index);
+         x.get(stagingX, index, firstLength);
+         y.get(stagingY, index, firstLength);
+
+         if (firstLength < chunkLength)
+         {
+            x.get(stagingX, 0, chunkLength - firstLength);
+            y.get(stagingY, 0, chunkLength - firstLength);
+         }
+
+         sequence += chunkLength;
+         length -= chunkLength;
+         publish(sequence);
+      }
+   }
+
+   private void claim(long sequence)
+   {
+      claimCount.set(sequence);
+      // Volatile write followed by a volatile read: the writes to the staging buffer that follow cannot
+      // be reordered before the claim.
+      claimCount.get();
+   }
+
+   private void publish(long sequence)
+   {
+      producerCount = sequence;
+      // Ordered write: the samples are visible to the consumer before the count is.
+      writeCount.lazySet(sequence);
+   }
+
+   /**
+    * @return the total number of samples appended to this series since its creation.
+    */
+   long getAppendedCount()
+   {
+      return writeCount.get();
+   }
+
+   /**
+    * @return {@code true} if samples were appended since the last call to {@link #update()}.
+    */
+   @Override
+   public boolean hasPendingData()
+   {
+      return writeCount.get() != historyEnd;
+   }
+
+   /**
+    * Makes the samples appended since the last call visible to the chart.
+    *
+    * @return {@code true} if the content of this series has changed.
+    */
+   @Override
+   public boolean update()
+   {
+      long end = writeCount.get();
+
+      if (end == historyEnd)
+         return false;
+
+      long previousEnd = historyEnd;
+      long windowStart = end - capacity;
+      // The slots of the samples leaving the window are about to be reused, notify their eviction first.
+      evict(Math.min(previousEnd, windowStart));
+      // The samples appended since the last update are all copied, including the ones already outside
+      // the window, such that they are also notified to sampleEvicted(...). Only the last buffer length
+      // of them are still in the staging buffer.
+      long copyStart = Math.max(previousEnd, end - (mask + 1));
+      copyFromStaging(copyStart, end);
+      // Volatile write: the reads of the staging buffer above cannot be reordered after the re-read of
+      // writeCount below.
+      copiedCount = end;
+
+      // The producer may have lapped the staging buffer while copying, in which case the oldest samples
+      // copied may have been overwritten. The producer may also be writing the samples it claimed past
+      // the last published one, which reuse the slots of the samples (mask + 1) older. When lapped
+      // more than once, none of the samples copied is valid.
+      long firstValid = claimCount.get() - (mask + 1);
+      long lostEnd = Math.min(Math.max(copyStart, firstValid), end);
+
+      if (lostEnd > previousEnd)
+      {
+         // Samples were lost, the visible samples have to be contiguous so the older ones are evicted.
+         evict(previousEnd);
+         historyStart = lostEnd;
+      }
+
+      historyEnd = end;
+      evict(windowStart);
+      updateBounds(Math.max(previousEnd, historyStart), end);
+      return true;
+   }
+
+   private void evict(long newHistoryStart)
+   {
+      for (long sequence = historyStart; sequence < newHistoryStart; sequence++)
+      {
+         int index = (int) (sequence & mask);
+         sampleEvicted(sequence, historyX[index], historyY[index]);
+      }
+      historyStart = Math.max(historyStart, newHistoryStart);
+   }
+
+   /**
+    * Called from {@link #update()} for each sample removed from this series because the capacity was
+    * reached, from the oldest to the newest. The default implementation does nothing.
+    * <p>
+    * This includes the samples appended since the previous update which are already outside the
+    * window, these are passed directly without ever being visible. Only the samples the producer
+    * overwrote in the staging buffer before the update, i.e. when it is more than a buffer length
+    * ahead, are lost without being notified.
+    * </p>
+    *
+    * @param sequence the sequence number of the evicted sample.
+    * @param x        the x-coordinate of the evicted sample.
+    * @param y        the y-coordinate of the evicted sample.
+    */
+   protected void sampleEvicted(long sequence, double x, double y)
+   {
+   }
+
+   private void updateBounds(long start, long end)
+   {
+      // Evicting first guarantees the deques never hold more than the buffer length.
+      xBounds.removeOlderThan(historyStart);
+      yBounds.removeOlderThan(historyStart);
+
+      for (long sequence = start; sequence < end; sequence++)
+      {
+         int index = (int) (sequence & mask);
+         xBounds.add(sequence, historyX[index]);
+         yBounds.add(sequence, historyY[index]);
+         if (levelOfDetail != null)
+            levelOfDetail.add(sequence, historyX[index], historyY[index]);
+      }
+   }
+
+   private void copyFromStaging(long start, long end)
+   {
+      int startIndex = (int) (start & mask);
+      int length = (int) (end - start);
+      int firstLength = Math.min(length, mask + 1 - startIndex);
+
+      System.arraycopy(stagingX, startIndex, historyX, startIndex, firstLength);
+      System.arraycopy(stagingY, startIndex, historyY, startIndex, firstLength);
+
+      if (firstLength < length)
+      {
+         System.arraycopy(stagingX, 0, historyX, 0, length - firstLength);
+         System.arraycopy(stagingY, 0, historyY, 0, length - firstLength);
+      }
+   }
+
+   /**
+    * Discards all the samples currently visible to the chart. Samples still pending will become
+    * visible on the next update.
+    */
+   public void clear()
+   {
+      historyStart = historyEnd;
+      xBounds.clear();
+      yBounds.clear();
+      if (levelOfDetail != null)
+         levelOfDetail.clear();
+   }
+
+   /**
+    * @return the maximum number of samples this series holds.
+    */
+   public int getCapacity()
+   {
+      return capacity;
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * The bounds are updated incrementally as samples are added and removed, this method is
+    * {@code O(1)}.
+    * </p>
+    */
+   @Override
+   public double getMinX()
+   {
+      return xBounds.getMin();
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * The bounds are updated incrementally as samples are added and removed, this method is
+    * {@code O(1)}.
+    * </p>
+    */
+   @Override
+   public double getMaxX()
+   {
+      return xBounds.getMax();
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * The bounds are updated incrementally as samples are added and removed, this method is
+    * {@code O(1)}.
+    * </p>
+    */
+   @Override
+   public double getMinY()
+   {
+      return yBounds.getMin();
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * The bounds are updated incrementally as samples are added and removed, this method is
+    * {@code O(1)}.
+    * </p>
+    */
+   @Override
+   public double getMaxY()
+   {
+      return yBounds.getMax();
+   }
+
+   @Override
+   public LevelOfDetailIndex getLevelOfDetail()
+   {
+      return levelOfDetail;
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * The samples visible to the chart are only modified by {@link #update()}, reading them does not
+    * modify this series.
+    * </p>
+    */
+   @Override
+   public boolean isThreadSafeForReading()
+   {
+      return true;
+   }
+
+   @Override
+   public long getSequence(int index)
+   {
+      return historyStart + index;
+   }
+
+   @Override
+   public long getSampleCount()
+   {
+      return historyEnd;
+   }
+
+   @Override
+   public int size()
+   {
+      return (int) (historyEnd - historyStart);
+   }
+
+   @Override
+   public double getX(int index)
+   {
+      return historyX[(int) ((historyStart + index) & mask)];
+   }
+
+   @Override
+   public double getY(int index)
+   {
+      return historyY[(int) ((historyStart + index) & mask)];
+   }
+}
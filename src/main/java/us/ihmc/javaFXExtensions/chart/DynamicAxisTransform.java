@@ -0,0 +1,81 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import javafx.scene.chart.ValueAxis;
+
+/**
+ * Snapshot of the linear transform used by a {@link ValueAxis} to convert values into display
+ * positions.
+ * <p>
+ * Calling {@link ValueAxis#getDisplayPosition(Object)} for every sample boxes the value and goes
+ * through several property reads, this class captures the transform once per layout pass so it can
+ * be applied to primitive values at the cost of a multiplication.
+ * </p>
+ */
+final class DynamicAxisTransform
+{
+   private double originValue = 0.0;
+   private double originPosition = 0.0;
+   private double scale = 1.0;
+
+   DynamicAxisTransform()
+   {
+   }
+
+   /**
+    * Captures the current transform of the given axis. The axis should have been laid out
+    * beforehand.
+    *
+    * @param axis the axis to capture the transform of.
+    */
+   void set(ValueAxis<Number> axis)
+   {
+      // Anchoring the transform at the lower bound preserves precision for large values, e.g. timestamps.
+      originValue = axis.getLowerBound();
+      originPosition = axis.getDisplayPosition(originValue);
+      scale = axis.getScale();
+   }
+
+   /**
+    * Sets the transform such that {@code originValue} is displayed at {@code originPosition}.
+    *
+    * @param originValue    the value anchoring the transform.
+    * @param originPosition the display position of {@code originValue}.
+    * @param scale          the number of pixels per unit of value.
+    */
+   void set(double originValue, double originPosition, double scale)
+   {
+      this.originValue = originValue;
+      this.originPosition = originPosition;
+      this.scale = scale;
+   }
+
+   void set(DynamicAxisTransform other)
+   {
+      originValue = other.originValue;
+      originPosition = other.originPosition;
+      scale = other.scale;
+   }
+
+   /**
+    * @param value the value to transform.
+    * @return the display position of the value along the axis.
+    */
+   double toDisplay(double value)
+   {
+      return originPosition + (value - originValue) * scale;
+   }
+
+   /**
+    * @param position the display position to transform.
+    * @return the value corresponding to the given display position.
+    */
+   double toValue(double position)
+   {
+      return originValue + (position - originPosition) / scale;
+   }
+
+   double getScale()
+   {
+      return scale;
+   }
+}
@@ -2,15 +2,24 @@ package us.ihmc.javaFXExtensions.chart;
 
 import com.sun.javafx.scene.control.skin.Utils;
 
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.collections.ObservableList;
+import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.chart.Chart;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+import javafx.stage.Window;
 
 /**
  * Variation of the base class {@link Chart} that provides a simpler implementation with a tighter
@@ -20,6 +29,10 @@ public abstract class DynamicChart extends Region
 {
    private static final int MIN_WIDTH_TO_LEAVE_FOR_CHART_CONTENT = 100;
    private static final int MIN_HEIGHT_TO_LEAVE_FOR_CHART_CONTENT = 50;
+   /** Period used for adaptive charts that have no maximum refresh rate, in nanoseconds. */
+   private static final double DEFAULT_ADAPTIVE_REFRESH_PERIOD = 1.0e9 / 60.0;
+   /** Accounts for the jitter of the pulses when comparing against the refresh period, in nanoseconds. */
+   private static final long REFRESH_PERIOD_TOLERANCE = 2000000L;
 
    /**
     * This is the Pane that Chart subclasses use to contain the chart content, It is sized to be inside
@@ -38,10 +51,51 @@ public abstract class DynamicChart extends Region
          final double height = getHeight();
          final double contentWidth = snapSize(width - (left + right));
          final double contentHeight = snapSize(height - (top + bottom));
+         if (!isVisibleInWindow())
+         {
+            // defer the layout until this chart is visible again, see onPulse(long)
+            suspended = true;
+            return;
+         }
+         Object event = DynamicChartLayoutRecorder.begin(DynamicChart.this, DynamicChartLayoutRecorder.LAYOUT);
+         long startTime = System.nanoTime();
          layoutChartChildren(snapPosition(top), snapPosition(left), contentWidth, contentHeight);
+         lastRefreshTime = lastPulseTime;
+         long layoutTime = System.nanoTime() - startTime;
+         metrics.reportLayoutTime(layoutTime);
+         DynamicChartRefreshScheduler.getInstance().reportLayoutTime(layoutTime);
+         DynamicChartLayoutRecorder.end(event, metrics.getPointsDrawn(), metrics.isAxisRelayout());
       }
    };
 
+   /**
+    * Timer used to notify this chart of every pulse while it is part of a scene, see
+    * {@link #handlePulse(long)}.
+    */
+   private final AnimationTimer pulseTimer = new AnimationTimer()
+   {
+      @Override
+      public void handle(long now)
+      {
+         onPulse(now);
+      }
+   };
+   /**
+    * When {@code true}, this chart is notified of pulses by its container, see
+    * {@link DynamicChartGrid}, instead of its own timer.
+    */
+   private boolean pulsedExternally = false;
+   /**
+    * Whether this chart was not visible in its window during the last pulse or layout, in which case
+    * it skipped processing its data and drawing.
+    */
+   private boolean suspended = false;
+   /** Timestamp in nanoseconds of the last pulse received. */
+   private long lastPulseTime = Long.MIN_VALUE;
+   /** Timestamp in nanoseconds of the pulse during which this chart was last laid out. */
+   private long lastRefreshTime = Long.MIN_VALUE;
+   private final DynamicChartMetrics metrics = new DynamicChartMetrics(this);
+
    /**
     * The node to display as the Legend. Subclasses can set a node here to be displayed on a side as
     * the legend. If no legend is wanted then this can be set to null
@@ -133,6 +187,190 @@ public abstract class DynamicChart extends Region
       chartContent.setManaged(false);
       chartContent.setPadding(Insets.EMPTY);
       setPadding(Insets.EMPTY);
+      // only listen to pulses while in a scene so a discarded chart does not leak through the timer
+      sceneProperty().addListener((o, oldValue, newValue) -> updatePulseTimer());
+      DynamicChartMetricsRegistry.getInstance().register(metrics);
+   }
+
+   private void updatePulseTimer()
+   {
+      if (getScene() != null && !pulsedExternally)
+         pulseTimer.start();
+      else
+         pulseTimer.stop();
+   }
+
+   /**
+    * Sets whether this chart is notified of pulses by its container. When {@code true}, the container
+    * is responsible for calling {@link #pulse(long)} once per pulse.
+    */
+   void setPulsedExternally(boolean value)
+   {
+      pulsedExternally = value;
+      updatePulseTimer();
+   }
+
+   /**
+    * Notifies this chart of a new pulse when it is pulsed by its container.
+    */
+   void pulse(long now)
+   {
+      onPulse(now);
+   }
+
+   private void onPulse(long now)
+   {
+      DynamicChartRefreshScheduler.getInstance().notifyPulse(now);
+      lastPulseTime = now;
+
+      if (!isVisibleInWindow())
+      {
+         suspended = true;
+         return;
+      }
+
+      if (suspended)
+      {
+         // catch up with everything that happened while not visible in one layout pass
+         suspended = false;
+         requestChartLayout();
+      }
+
+      if (!isRefreshDue(now))
+      {
+         metrics.incrementSkippedFrames();
+         return;
+      }
+
+      handlePulse(now);
+   }
+
+   private boolean isRefreshDue(long now)
+   {
+      if (lastRefreshTime == Long.MIN_VALUE)
+         return true;
+
+      double maxRefreshRate = getMaxRefreshRate();
+      double period = maxRefreshRate > 0.0 ? 1.0e9 / maxRefreshRate : 0.0;
+
+      if (isAdaptiveRefreshRate())
+      {
+         double throttleFactor = DynamicChartRefreshScheduler.getInstance().getThrottleFactor();
+         if (throttleFactor > 1.0)
+            period = Math.max(period, DEFAULT_ADAPTIVE_REFRESH_PERIOD) * throttleFactor;
+      }
+
+      return now - lastRefreshTime + REFRESH_PERIOD_TOLERANCE >= period;
+   }
+
+   // --- maxRefreshRate
+   private final DoubleProperty maxRefreshRate = new SimpleDoubleProperty(this, "maxRefreshRate", Double.POSITIVE_INFINITY);
+
+   public final void setMaxRefreshRate(double value)
+   {
+      maxRefreshRate.set(value);
+   }
+
+   public final double getMaxRefreshRate()
+   {
+      return maxRefreshRate.get();
+   }
+
+   /**
+    * The maximum number of times per second this chart is updated when receiving new data. Default
+    * value is {@link Double#POSITIVE_INFINITY}, i.e. the chart is updated at every pulse.
+    */
+   public final DoubleProperty maxRefreshRateProperty()
+   {
+      return maxRefreshRate;
+   }
+
+   // --- adaptiveRefreshRate
+   private final BooleanProperty adaptiveRefreshRate = new SimpleBooleanProperty(this, "adaptiveRefreshRate", false);
+
+   public final void setAdaptiveRefreshRate(boolean value)
+   {
+      adaptiveRefreshRate.set(value);
+   }
+
+   public final boolean isAdaptiveRefreshRate()
+   {
+      return adaptiveRefreshRate.get();
+   }
+
+   /**
+    * Whether this chart can be updated less often than its {@link #maxRefreshRateProperty() max
+    * refresh rate} when the charts take longer than the frame budget to update, see
+    * {@link DynamicChartRefreshScheduler}. This is meant for charts in the background that are not
+    * the focus of attention. Default value is {@code false}.
+    */
+   public final BooleanProperty adaptiveRefreshRateProperty()
+   {
+      return adaptiveRefreshRate;
+   }
+
+   /**
+    * Tests whether this chart can currently be seen in its window.
+    * <p>
+    * This chart is considered not visible when it is not part of a showing window, when it or one
+    * of its ancestors is not visible, when it has a zero size, or when it is entirely clipped out,
+    * for instance by the viewport of a {@code ScrollPane}. While not visible, this chart does not
+    * process new data nor draws itself.
+    * </p>
+    *
+    * @return {@code true} if this chart is visible in its window.
+    */
+   public boolean isVisibleInWindow()
+   {
+      Scene scene = getScene();
+      if (scene == null)
+         return false;
+      Window window = scene.getWindow();
+      if (window == null || !window.isShowing())
+         return false;
+      if (window instanceof Stage && ((Stage) window).isIconified())
+         return false;
+      if (getWidth() <= 0.0 || getHeight() <= 0.0)
+         return false;
+
+      Bounds bounds = localToScene(getLayoutBounds());
+      double minX = Math.max(bounds.getMinX(), 0.0);
+      double minY = Math.max(bounds.getMinY(), 0.0);
+      double maxX = Math.min(bounds.getMaxX(), scene.getWidth());
+      double maxY = Math.min(bounds.getMaxY(), scene.getHeight());
+
+      for (Node node = this; node != null; node = node.getParent())
+      {
+         if (!node.isVisible())
+            return false;
+
+         Node clip = node.getClip();
+         if (clip != null)
+         {
+            // the clip is expressed in the local coordinates of the node it is applied to
+            Bounds clipBounds = node.localToScene(clip.getBoundsInParent());
+            minX = Math.max(minX, clipBounds.getMinX());
+            minY = Math.max(minY, clipBounds.getMinY());
+            maxX = Math.min(maxX, clipBounds.getMaxX());
+            maxY = Math.min(maxY, clipBounds.getMaxY());
+         }
+
+         if (minX >= maxX || minY >= maxY)
+            return false;
+      }
+
+      return true;
+   }
+
+   /**
+    * Gets the measurements of the work done by this chart, which can be used to find the charts that
+    * are expensive to update.
+    *
+    * @return the metrics of this chart.
+    */
+   public final DynamicChartMetrics getMetrics()
+   {
+      return metrics;
    }
 
    /** Call this when you know something has changed that needs the chart to be relayed out. */
@@ -141,6 +379,19 @@ public abstract class DynamicChart extends Region
       chartContent.requestLayout();
    }
 
+   /**
+    * Called once per pulse on the JavaFX Application Thread while this chart is part of a scene.
+    * <p>
+    * Subclasses that are fed with data from other threads can use this to check for new data and
+    * call {@link #requestChartLayout()} only once per pulse no matter how much data was received.
+    * </p>
+    *
+    * @param now the timestamp of the current frame given in nanoseconds.
+    */
+   protected void handlePulse(long now)
+   {
+   }
+
    /**
     * Called to update and layout the chart children available from getChartChildren()
     *
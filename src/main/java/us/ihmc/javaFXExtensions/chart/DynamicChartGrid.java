@@ -0,0 +1,189 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.layout.Region;
+
+/**
+ * Container that lays out a list of {@link DynamicChart}s in a grid and drives them from a single
+ * timer.
+ * <p>
+ * Instead of every chart running its own timer, the grid notifies all its charts of a pulse at
+ * once, such that all the charts with new data get updated in the same layout pass. The y-axes of
+ * the {@link DynamicXYChart}s are also given the same width so the plot areas line up, the width is
+ * only updated when the widest y-axis changes.
+ * </p>
+ */
+public class DynamicChartGrid extends Region
+{
+   private final ObservableList<DynamicChart> charts = FXCollections.observableArrayList();
+
+   private final AnimationTimer pulseTimer = new AnimationTimer()
+   {
+      @Override
+      public void handle(long now)
+      {
+         pulse(now);
+      }
+   };
+
+   /** The width currently imposed to the y-axes. */
+   private double alignedYAxisWidth = 0.0;
+
+   /**
+    * Creates a new empty grid.
+    */
+   public DynamicChartGrid()
+   {
+      getStyleClass().add("dynamic-chart-grid");
+
+      charts.addListener((ListChangeListener<DynamicChart>) change ->
+      {
+         while (change.next())
+         {
+            for (DynamicChart removed : change.getRemoved())
+            {
+               getChildren().remove(removed);
+               removed.setPulsedExternally(false);
+               if (removed instanceof DynamicXYChart)
+                  ((DynamicXYChart) removed).setYAxisMinWidth(0.0);
+            }
+            for (DynamicChart added : change.getAddedSubList())
+            {
+               added.setPulsedExternally(true);
+               getChildren().add(added);
+            }
+         }
+         alignedYAxisWidth = 0.0;
+         requestLayout();
+      });
+
+      sceneProperty().addListener((o, oldValue, newValue) ->
+      {
+         if (newValue != null)
+            pulseTimer.start();
+         else
+            pulseTimer.stop();
+      });
+   }
+
+   /**
+    * Modifiable and observable list of the charts displayed in this grid.
+    *
+    * @return the list of charts.
+    */
+   public final ObservableList<DynamicChart> getCharts()
+   {
+      return charts;
+   }
+
+   private void pulse(long now)
+   {
+      double maxYAxisWidth = 0.0;
+
+      for (int i = 0; i < charts.size(); i++)
+      {
+         DynamicChart chart = charts.get(i);
+         chart.pulse(now);
+
+         if (chart instanceof DynamicXYChart)
+            maxYAxisWidth = Math.max(maxYAxisWidth, ((DynamicXYChart) chart).getYAxisNaturalWidth());
+      }
+
+      if (maxYAxisWidth != alignedYAxisWidth)
+      {
+         alignedYAxisWidth = maxYAxisWidth;
+
+         for (int i = 0; i < charts.size(); i++)
+         {
+            DynamicChart chart = charts.get(i);
+            if (chart instanceof DynamicXYChart)
+               ((DynamicXYChart) chart).setYAxisMinWidth(alignedYAxisWidth);
+         }
+      }
+   }
+
+   @Override
+   protected void layoutChildren()
+   {
+      int chartCount = charts.size();
+
+      if (chartCount == 0)
+         return;
+
+      int columns = Math.max(1, Math.min(getNumberOfColumns(), chartCount));
+      int rows = (chartCount + columns - 1) / columns;
+
+      double top = snappedTopInset();
+      double left = snappedLeftInset();
+      double contentWidth = getWidth() - left - snappedRightInset();
+      double contentHeight = getHeight() - top - snappedBottomInset();
+      double cellWidth = contentWidth / columns;
+      double cellHeight = contentHeight / rows;
+
+      for (int i = 0; i < chartCount; i++)
+      {
+         int row = i / columns;
+         int column = i % columns;
+         double x = snapPosition(left + column * cellWidth);
+         double y = snapPosition(top + row * cellHeight);
+         double width = snapPosition(left + (column + 1) * cellWidth) - x;
+         double height = snapPosition(top + (row + 1) * cellHeight) - y;
+         charts.get(i).resizeRelocate(x, y, width, height);
+      }
+   }
+
+   @Override
+   protected double computePrefWidth(double height)
+   {
+      int columns = Math.max(1, Math.min(getNumberOfColumns(), charts.size()));
+      double maxPrefWidth = 0.0;
+      for (int i = 0; i < charts.size(); i++)
+         maxPrefWidth = Math.max(maxPrefWidth, charts.get(i).prefWidth(-1));
+      return snappedLeftInset() + columns * maxPrefWidth + snappedRightInset();
+   }
+
+   @Override
+   protected double computePrefHeight(double width)
+   {
+      int columns = Math.max(1, Math.min(getNumberOfColumns(), charts.size()));
+      int rows = (charts.size() + columns - 1) / columns;
+      double maxPrefHeight = 0.0;
+      for (int i = 0; i < charts.size(); i++)
+         maxPrefHeight = Math.max(maxPrefHeight, charts.get(i).prefHeight(-1));
+      return snappedTopInset() + rows * maxPrefHeight + snappedBottomInset();
+   }
+
+   // --- numberOfColumns
+   private final IntegerProperty numberOfColumns = new SimpleIntegerProperty(this, "numberOfColumns", 1)
+   {
+      @Override
+      protected void invalidated()
+      {
+         requestLayout();
+      }
+   };
+
+   public final void setNumberOfColumns(int value)
+   {
+      numberOfColumns.set(value);
+   }
+
+   public final int getNumberOfColumns()
+   {
+      return numberOfColumns.get();
+   }
+
+   /**
+    * The number of columns of the grid, the number of rows is deduced from the number of charts.
+    * Default value is 1.
+    */
+   public final IntegerProperty numberOfColumnsProperty()
+   {
+      return numberOfColumns;
+   }
+}
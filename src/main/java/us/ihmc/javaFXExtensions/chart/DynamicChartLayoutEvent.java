@@ -0,0 +1,83 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event emitted for each phase of the layout of a {@link DynamicChart}, which
+ * allows to correlate hitches of the user interface with garbage collections or bursts of data in a
+ * recording.
+ * <p>
+ * When the event is not enabled in a recording, {@link #begin(DynamicChart, String)} returns
+ * {@code null} without allocating, so the cost is a single check per phase.
+ * </p>
+ * <p>
+ * This class should only be used through {@link DynamicChartLayoutRecorder}, which does not load it
+ * when JFR is not available.
+ * </p>
+ */
+@Name("us.ihmc.javaFXExtensions.chart.DynamicChartLayout")
+@Label("Dynamic Chart Layout")
+@Category({"JavaFX", "Dynamic Chart"})
+@Description("Phase of the layout of a dynamic chart")
+final class DynamicChartLayoutEvent extends Event
+{
+   private static final EventType EVENT_TYPE = EventType.getEventType(DynamicChartLayoutEvent.class);
+
+   @Label("Chart")
+   @Description("Identifier of the chart, its id if it has one")
+   String chartId;
+
+   @Label("Phase")
+   String phase;
+
+   @Label("Points Processed")
+   @Description("Number of samples ingested or vertices drawn during the phase")
+   long pointsProcessed;
+
+   @Label("Axis Relayout")
+   @Description("Whether the axes had to be sized and laid out again")
+   boolean axisRelayout;
+
+   /**
+    * Starts timing a phase of the layout of a chart if the event is enabled.
+    *
+    * @param chart the chart being laid out.
+    * @param phase the phase starting.
+    * @return the event to commit at the end of the phase, or {@code null} if the event is disabled.
+    */
+   static DynamicChartLayoutEvent begin(DynamicChart chart, String phase)
+   {
+      if (!EVENT_TYPE.isEnabled())
+         return null;
+
+      DynamicChartLayoutEvent event = new DynamicChartLayoutEvent();
+      String id = chart.getId();
+      event.chartId = id != null ? id : chart.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(chart));
+      event.phase = phase;
+      event.begin();
+      return event;
+   }
+
+   /**
+    * Ends the phase and commits this event to the recording.
+    *
+    * @param pointsProcessed the number of samples ingested or vertices drawn during the phase.
+    * @param axisRelayout    whether the axes were laid out during the phase.
+    */
+   void commit(long pointsProcessed, boolean axisRelayout)
+   {
+      end();
+
+      if (shouldCommit())
+      {
+         this.pointsProcessed = pointsProcessed;
+         this.axisRelayout = axisRelayout;
+         commit();
+      }
+   }
+}
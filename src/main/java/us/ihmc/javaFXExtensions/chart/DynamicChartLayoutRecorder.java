@@ -0,0 +1,71 @@
+package us.ihmc.javaFXExtensions.chart;
+
+/**
+ * Records the phases of the layout of the {@link DynamicChart}s as {@link DynamicChartLayoutEvent}s
+ * when Java Flight Recorder is available.
+ * <p>
+ * The charts only go through this class, which does not depend on {@code jdk.jfr}, such that they
+ * still work on runtimes without the {@code jdk.jfr} module, e.g. Java 8 or a trimmed image. The
+ * events are then simply not recorded.
+ * </p>
+ */
+final class DynamicChartLayoutRecorder
+{
+   /** The entire layout of the chart. */
+   static final String LAYOUT = "layout";
+   /** The update of the series and of the range of the axes. */
+   static final String UPDATE_AXIS_RANGE = "updateAxisRange";
+   /** The sizing and layout of the axes. */
+   static final String AXIS_LAYOUT = "axisLayout";
+   /** The drawing of the plot. */
+   static final String PLOT_LAYOUT = "plotLayout";
+
+   private static final boolean JFR_AVAILABLE = isJFRAvailable();
+
+   private DynamicChartLayoutRecorder()
+   {
+   }
+
+   private static boolean isJFRAvailable()
+   {
+      try
+      {
+         Class.forName("jdk.jfr.Event", false, DynamicChartLayoutRecorder.class.getClassLoader());
+         return true;
+      }
+      catch (ClassNotFoundException | LinkageError e)
+      {
+         return false;
+      }
+   }
+
+   /**
+    * Starts timing a phase of the layout of a chart if the event is enabled.
+    *
+    * @param chart the chart being laid out.
+    * @param phase the phase starting.
+    * @return the event to pass to {@link #end(Object, long, boolean)} at the end of the phase, or
+    *         {@code null} if the event is disabled or JFR is not available.
+    */
+   static Object begin(DynamicChart chart, String phase)
+   {
+      if (!JFR_AVAILABLE)
+         return null;
+
+      return DynamicChartLayoutEvent.begin(chart, phase);
+   }
+
+   /**
+    * Ends a phase and commits its event to the recording.
+    *
+    * @param event           the event returned by {@link #begin(DynamicChart, String)}, can be
+    *                        {@code null}.
+    * @param pointsProcessed the number of samples ingested or vertices drawn during the phase.
+    * @param axisRelayout    whether the axes were laid out during the phase.
+    */
+   static void end(Object event, long pointsProcessed, boolean axisRelayout)
+   {
+      if (event != null)
+         ((DynamicChartLayoutEvent) event).commit(pointsProcessed, axisRelayout);
+   }
+}
@@ -0,0 +1,206 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+
+/**
+ * Measurements of the work done by a {@link DynamicChart}, updated after every layout of the chart.
+ * <p>
+ * The durations are those of the last layout of the chart, while the counters of samples ingested
+ * and frames skipped accumulate until {@link #reset()} is called. The metrics of all the charts of
+ * the application can be found in the {@link DynamicChartMetricsRegistry}.
+ * </p>
+ * <p>
+ * This class is meant to be used from the JavaFX Application Thread only.
+ * </p>
+ */
+public final class DynamicChartMetrics
+{
+   private final DynamicChart chart;
+   private boolean axisRelayout = false;
+
+   DynamicChartMetrics(DynamicChart chart)
+   {
+      this.chart = chart;
+   }
+
+   /**
+    * @return the chart these metrics are for.
+    */
+   public DynamicChart getChart()
+   {
+      return chart;
+   }
+
+   /**
+    * Resets the cumulative counters, i.e. the number of samples ingested and the number of frames
+    * skipped.
+    */
+   public void reset()
+   {
+      pointsIngested.set(0L);
+      skippedFrames.set(0L);
+   }
+
+   void reportLayoutTime(long duration)
+   {
+      layoutTime.set(duration);
+   }
+
+   void reportUpdateAxisRangeTime(long duration)
+   {
+      updateAxisRangeTime.set(duration);
+   }
+
+   void reportAxisLayoutTime(long duration, boolean axisRelayout)
+   {
+      this.axisRelayout = axisRelayout;
+      axisLayoutTime.set(axisRelayout ? duration : 0L);
+   }
+
+   /**
+    * @return whether the axes were sized and laid out during the last layout of the chart.
+    */
+   boolean isAxisRelayout()
+   {
+      return axisRelayout;
+   }
+
+   void reportPlotLayoutTime(long duration)
+   {
+      plotLayoutTime.set(duration);
+   }
+
+   void addPointsIngested(long count)
+   {
+      if (count != 0L)
+         pointsIngested.set(pointsIngested.get() + count);
+   }
+
+   void reportPointsDrawn(long count)
+   {
+      pointsDrawn.set(count);
+   }
+
+   void incrementSkippedFrames()
+   {
+      skippedFrames.set(skippedFrames.get() + 1L);
+   }
+
+   // --- layoutTime
+   private final ReadOnlyLongWrapper layoutTime = new ReadOnlyLongWrapper(this, "layoutTime", 0L);
+
+   public final long getLayoutTime()
+   {
+      return layoutTime.get();
+   }
+
+   /**
+    * The total time in nanoseconds spent during the last layout of the chart.
+    */
+   public final ReadOnlyLongProperty layoutTimeProperty()
+   {
+      return layoutTime.getReadOnlyProperty();
+   }
+
+   // --- updateAxisRangeTime
+   private final ReadOnlyLongWrapper updateAxisRangeTime = new ReadOnlyLongWrapper(this, "updateAxisRangeTime", 0L);
+
+   public final long getUpdateAxisRangeTime()
+   {
+      return updateAxisRangeTime.get();
+   }
+
+   /**
+    * The time in nanoseconds spent during the last layout to update the data and the range of the
+    * axes, see {@link DynamicXYChart#updateAxisRange()}.
+    */
+   public final ReadOnlyLongProperty updateAxisRangeTimeProperty()
+   {
+      return updateAxisRangeTime.getReadOnlyProperty();
+   }
+
+   // --- axisLayoutTime
+   private final ReadOnlyLongWrapper axisLayoutTime = new ReadOnlyLongWrapper(this, "axisLayoutTime", 0L);
+
+   public final long getAxisLayoutTime()
+   {
+      return axisLayoutTime.get();
+   }
+
+   /**
+    * The time in nanoseconds spent during the last layout to size and lay out the axes, zero when the
+    * previous axis layout could be reused.
+    */
+   public final ReadOnlyLongProperty axisLayoutTimeProperty()
+   {
+      return axisLayoutTime.getReadOnlyProperty();
+   }
+
+   // --- plotLayoutTime
+   private final ReadOnlyLongWrapper plotLayoutTime = new ReadOnlyLongWrapper(this, "plotLayoutTime", 0L);
+
+   public final long getPlotLayoutTime()
+   {
+      return plotLayoutTime.get();
+   }
+
+   /**
+    * The time in nanoseconds spent during the last layout to draw the plot, see
+    * {@link DynamicXYChart#layoutPlotChildren(double, double, double, double)}.
+    */
+   public final ReadOnlyLongProperty plotLayoutTimeProperty()
+   {
+      return plotLayoutTime.getReadOnlyProperty();
+   }
+
+   // --- pointsIngested
+   private final ReadOnlyLongWrapper pointsIngested = new ReadOnlyLongWrapper(this, "pointsIngested", 0L);
+
+   public final long getPointsIngested()
+   {
+      return pointsIngested.get();
+   }
+
+   /**
+    * The number of samples received by the series of the chart since the last {@link #reset()}.
+    */
+   public final ReadOnlyLongProperty pointsIngestedProperty()
+   {
+      return pointsIngested.getReadOnlyProperty();
+   }
+
+   // --- pointsDrawn
+   private final ReadOnlyLongWrapper pointsDrawn = new ReadOnlyLongWrapper(this, "pointsDrawn", 0L);
+
+   public final long getPointsDrawn()
+   {
+      return pointsDrawn.get();
+   }
+
+   /**
+    * The number of vertices drawn during the last layout, after decimation.
+    */
+   public final ReadOnlyLongProperty pointsDrawnProperty()
+   {
+      return pointsDrawn.getReadOnlyProperty();
+   }
+
+   // --- skippedFrames
+   private final ReadOnlyLongWrapper skippedFrames = new ReadOnlyLongWrapper(this, "skippedFrames", 0L);
+
+   public final long getSkippedFrames()
+   {
+      return skippedFrames.get();
+   }
+
+   /**
+    * The number of pulses since the last {@link #reset()} during which the chart was not refreshed
+    * because of its {@link DynamicChart#maxRefreshRateProperty() maximum refresh rate} or because it
+    * was throttled by the {@link DynamicChartRefreshScheduler}.
+    */
+   public final ReadOnlyLongProperty skippedFramesProperty()
+   {
+      return skippedFrames.getReadOnlyProperty();
+   }
+}
@@ -0,0 +1,158 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registry of the {@link DynamicChartMetrics} of all the {@link DynamicChart}s of the application,
+ * useful to find at runtime which charts are the most expensive to update.
+ * <p>
+ * Charts register themselves when created and are only weakly referenced, so discarded charts are
+ * dropped from the registry once garbage collected.
+ * </p>
+ * <p>
+ * This class is meant to be used from the JavaFX Application Thread only.
+ * </p>
+ */
+public final class DynamicChartMetricsRegistry
+{
+   private static final DynamicChartMetricsRegistry INSTANCE = new DynamicChartMetricsRegistry();
+
+   private final List<WeakReference<DynamicChartMetrics>> registeredMetrics = new ArrayList<>();
+
+   /**
+    * @return the registry shared by all the charts.
+    */
+   public static DynamicChartMetricsRegistry getInstance()
+   {
+      return INSTANCE;
+   }
+
+   private DynamicChartMetricsRegistry()
+   {
+   }
+
+   void register(DynamicChartMetrics metrics)
+   {
+      // Drops the garbage collected charts, such that the registry does not grow when charts are
+      // created and discarded without the metrics being queried.
+      for (int i = registeredMetrics.size() - 1; i >= 0; i--)
+      {
+         if (registeredMetrics.get(i).get() == null)
+            registeredMetrics.remove(i);
+      }
+
+      registeredMetrics.add(new WeakReference<>(metrics));
+   }
+
+   /**
+    * Gets the metrics of all the charts currently alive.
+    *
+    * @return a new list containing the metrics of every chart.
+    */
+   public List<DynamicChartMetrics> getChartMetrics()
+   {
+      List<DynamicChartMetrics> result = new ArrayList<>(registeredMetrics.size());
+
+      for (int i = registeredMetrics.size() - 1; i >= 0; i--)
+      {
+         DynamicChartMetrics metrics = registeredMetrics.get(i).get();
+
+         if (metrics == null)
+            registeredMetrics.remove(i);
+         else
+            result.add(metrics);
+      }
+
+      return result;
+   }
+
+   /**
+    * Finds the chart which last layout took the longest.
+    *
+    * @return the metrics of the most expensive chart, or {@code null} if there is no chart.
+    */
+   public DynamicChartMetrics getMostExpensive()
+   {
+      DynamicChartMetrics mostExpensive = null;
+      List<DynamicChartMetrics> allMetrics = getChartMetrics();
+
+      for (int i = 0; i < allMetrics.size(); i++)
+      {
+         DynamicChartMetrics metrics = allMetrics.get(i);
+         if (mostExpensive == null || metrics.getLayoutTime() > mostExpensive.getLayoutTime())
+            mostExpensive = metrics;
+      }
+
+      return mostExpensive;
+   }
+
+   /**
+    * @return the sum of the time in nanoseconds spent during the last layout of every chart.
+    */
+   public long getTotalLayoutTime()
+   {
+      long total = 0L;
+      List<DynamicChartMetrics> allMetrics = getChartMetrics();
+      for (int i = 0; i < allMetrics.size(); i++)
+      {
+         total += allMetrics.get(i).getLayoutTime();
+      }
+      return total;
+   }
+
+   /**
+    * @return the sum of the samples ingested by every chart since their last reset.
+    */
+   public long getTotalPointsIngested()
+   {
+      long total = 0L;
+      List<DynamicChartMetrics> allMetrics = getChartMetrics();
+      for (int i = 0; i < allMetrics.size(); i++)
+      {
+         total += allMetrics.get(i).getPointsIngested();
+      }
+      return total;
+   }
+
+   /**
+    * @return the sum of the vertices drawn during the last layout of every chart.
+    */
+   public long getTotalPointsDrawn()
+   {
+      long total = 0L;
+      List<DynamicChartMetrics> allMetrics = getChartMetrics();
+      for (int i = 0; i < allMetrics.size(); i++)
+      {
+         total += allMetrics.get(i).getPointsDrawn();
+      }
+      return total;
+   }
+
+   /**
+    * @return the sum of the frames skipped by every chart since their last reset.
+    */
+   public long getTotalSkippedFrames()
+   {
+      long total = 0L;
+      List<DynamicChartMetrics> allMetrics = getChartMetrics();
+      for (int i = 0; i < allMetrics.size(); i++)
+      {
+         total += allMetrics.get(i).getSkippedFrames();
+      }
+      return total;
+   }
+
+   /**
+    * Resets the cumulative counters of every chart.
+    */
+   public void resetAll()
+   {
+      List<DynamicChartMetrics> allMetrics = getChartMetrics();
+      for (int i = 0; i < allMetrics.size(); i++)
+      {
+         allMetrics.get(i).reset();
+      }
+   }
+}
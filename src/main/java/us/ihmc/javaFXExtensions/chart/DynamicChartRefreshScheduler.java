@@ -0,0 +1,123 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.SimpleDoubleProperty;
+
+/**
+ * Monitors the time spent laying out all the {@link DynamicChart}s of the application and computes
+ * how much the charts with an {@link DynamicChart#adaptiveRefreshRateProperty() adaptive refresh
+ * rate} should be slowed down to keep the total within a frame budget.
+ * <p>
+ * At the end of every pulse, if the total layout time exceeded the {@link #frameBudgetProperty()
+ * frame budget}, the {@link #throttleFactorProperty() throttle factor} is increased, otherwise it
+ * is slowly decreased back to 1. The refresh period of adaptive charts is multiplied by this
+ * factor.
+ * </p>
+ * <p>
+ * This class is meant to be used from the JavaFX Application Thread only.
+ * </p>
+ */
+public final class DynamicChartRefreshScheduler
+{
+   private static final DynamicChartRefreshScheduler INSTANCE = new DynamicChartRefreshScheduler();
+
+   private static final double THROTTLE_INCREASE = 1.25;
+   private static final double THROTTLE_DECREASE = 1.05;
+   private static final double MAX_THROTTLE_FACTOR = 30.0;
+
+   private long currentPulse = Long.MIN_VALUE;
+   private long currentPulseLayoutTime = 0L;
+
+   /**
+    * @return the scheduler shared by all the charts.
+    */
+   public static DynamicChartRefreshScheduler getInstance()
+   {
+      return INSTANCE;
+   }
+
+   private DynamicChartRefreshScheduler()
+   {
+   }
+
+   /**
+    * Called by the charts at every pulse, the first call for a new pulse closes the previous one.
+    *
+    * @param now the timestamp of the pulse in nanoseconds.
+    */
+   void notifyPulse(long now)
+   {
+      if (now == currentPulse)
+         return;
+
+      if (currentPulse != Long.MIN_VALUE)
+         updateThrottleFactor(currentPulseLayoutTime);
+
+      currentPulse = now;
+      currentPulseLayoutTime = 0L;
+   }
+
+   /**
+    * Called by the charts after each layout pass.
+    *
+    * @param duration the time spent laying out the chart in nanoseconds.
+    */
+   void reportLayoutTime(long duration)
+   {
+      currentPulseLayoutTime += duration;
+   }
+
+   private void updateThrottleFactor(long pulseLayoutTime)
+   {
+      double budget = getFrameBudget() * 1.0e6;
+      double factor = getThrottleFactor();
+
+      if (pulseLayoutTime > budget)
+         factor = Math.min(factor * THROTTLE_INCREASE, MAX_THROTTLE_FACTOR);
+      else if (pulseLayoutTime < 0.5 * budget)
+         factor = Math.max(factor / THROTTLE_DECREASE, 1.0);
+
+      throttleFactor.set(factor);
+   }
+
+   // --- frameBudget
+   private final DoubleProperty frameBudget = new SimpleDoubleProperty(this, "frameBudget", 8.0);
+
+   public final void setFrameBudget(double value)
+   {
+      frameBudget.set(value);
+   }
+
+   public final double getFrameBudget()
+   {
+      return frameBudget.get();
+   }
+
+   /**
+    * The time in milliseconds that all the charts together can spend laying out per pulse before
+    * adaptive charts get slowed down. Default value is 8 milliseconds.
+    */
+   public final DoubleProperty frameBudgetProperty()
+   {
+      return frameBudget;
+   }
+
+   // --- throttleFactor
+   private final ReadOnlyDoubleWrapper throttleFactor = new ReadOnlyDoubleWrapper(this, "throttleFactor", 1.0);
+
+   public final double getThrottleFactor()
+   {
+      return throttleFactor.get();
+   }
+
+   /**
+    * The factor, greater or equal to 1, by which the refresh period of adaptive charts is currently
+    * multiplied.
+    */
+   public final ReadOnlyDoubleProperty throttleFactorProperty()
+   {
+      return throttleFactor.getReadOnlyProperty();
+   }
+}
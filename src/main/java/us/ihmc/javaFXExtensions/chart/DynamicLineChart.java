@@ -0,0 +1,404 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.chart.ValueAxis;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+
+/**
+ * Implementation of a {@link DynamicXYChart} that plots {@link DynamicSeries} as lines.
+ * <p>
+ * Unlike {@link javafx.scene.chart.LineChart}, the series are drawn into a single {@link Canvas}
+ * instead of creating nodes for every series and data point. This allows to plot high-rate data
+ * with a large number of samples without stressing the scene graph.
+ * </p>
+ */
+public class DynamicLineChart extends DynamicXYChart
+{
+   /**
+    * Minimum number of samples across all the series for the geometry to be computed in parallel, below
+    * this the cost of dispatching the tasks outweighs the gain.
+    */
+   private static final int PARALLEL_GEOMETRY_THRESHOLD = 50000;
+
+   private final ObservableList<DynamicSeries> series = FXCollections.observableArrayList();
+   private final Canvas canvas = new Canvas();
+   private final DynamicAxisTransform xTransform = new DynamicAxisTransform();
+   private final DynamicAxisTransform yTransform = new DynamicAxisTransform();
+   private final List<Number> xRangeData = new ArrayList<>(2);
+   private final List<Number> yRangeData = new ArrayList<>(2);
+   private final List<SeriesGeometry> geometries = new ArrayList<>();
+   private final AutoRangePolicy xAutoRangePolicy = new AutoRangePolicy(0.0, false);
+   private final AutoRangePolicy yAutoRangePolicy = new AutoRangePolicy(0.1, true);
+   private final InvalidationListener seriesStyleListener = observable -> requestChartLayout();
+
+   /**
+    * Creates a new chart that plots series as lines.
+    *
+    * @param xAxis the axis used for the x-coordinates.
+    * @param yAxis the axis used for the y-coordinates.
+    */
+   public DynamicLineChart(ValueAxis<Number> xAxis, ValueAxis<Number> yAxis)
+   {
+      super(xAxis, yAxis);
+      getStyleClass().add("line-chart");
+      // The canvas does not need to be picked, this way mouse events can reach the plot background.
+      canvas.setMouseTransparent(true);
+      plotContent.getChildren().add(canvas);
+      // Forces the range to be recomputed when auto-ranging is re-enabled.
+      xAxis.autoRangingProperty().addListener((o, oldValue, newValue) -> xAutoRangePolicy.reset());
+      yAxis.autoRangingProperty().addListener((o, oldValue, newValue) -> yAutoRangePolicy.reset());
+
+      series.addListener((ListChangeListener<DynamicSeries>) change ->
+      {
+         while (change.next())
+         {
+            for (DynamicSeries removed : change.getRemoved())
+            {
+               removed.strokeProperty().removeListener(seriesStyleListener);
+               removed.lineWidthProperty().removeListener(seriesStyleListener);
+            }
+            for (DynamicSeries added : change.getAddedSubList())
+            {
+               added.strokeProperty().addListener(seriesStyleListener);
+               added.lineWidthProperty().addListener(seriesStyleListener);
+            }
+         }
+         requestChartLayout();
+      });
+   }
+
+   /**
+    * Modifiable and observable list of the series plotted in this chart.
+    *
+    * @return the list of series.
+    */
+   public final ObservableList<DynamicSeries> getSeries()
+   {
+      return series;
+   }
+
+   /**
+    * Call this when the data of one or more series has changed and the chart should be redrawn.
+    */
+   @Override
+   public void requestChartLayout()
+   {
+      super.requestChartLayout();
+   }
+
+   /**
+    * Requests a layout of this chart at most once per pulse when any of the series has received new
+    * data.
+    */
+   @Override
+   protected void handlePulse(long now)
+   {
+      for (int seriesIndex = 0; seriesIndex < series.size(); seriesIndex++)
+      {
+         if (series.get(seriesIndex).hasPendingData())
+         {
+            requestChartLayout();
+            return;
+         }
+      }
+   }
+
+   @Override
+   protected void updateAxisRange()
+   {
+      long pointsIngested = 0L;
+
+      for (int seriesIndex = 0; seriesIndex < series.size(); seriesIndex++)
+      {
+         DynamicSeries s = series.get(seriesIndex);
+         long previousSampleCount = s.getSampleCount();
+         s.update();
+         pointsIngested += s.getSampleCount() - previousSampleCount;
+      }
+
+      getMetrics().addPointsIngested(pointsIngested);
+
+      ValueAxis<Number> xAxis = getXAxis();
+      ValueAxis<Number> yAxis = getYAxis();
+
+      if (!xAxis.isAutoRanging() && !yAxis.isAutoRanging())
+         return;
+
+      double xMin = Double.POSITIVE_INFINITY;
+      double xMax = Double.NEGATIVE_INFINITY;
+      double yMin = Double.POSITIVE_INFINITY;
+      double yMax = Double.NEGATIVE_INFINITY;
+
+      // Each series tracks its own bounds, so this is linear in the number of series only.
+      for (int seriesIndex = 0; seriesIndex < series.size(); seriesIndex++)
+      {
+         DynamicSeries s = series.get(seriesIndex);
+         xMin = Math.min(xMin, s.getMinX());
+         xMax = Math.max(xMax, s.getMaxX());
+         yMin = Math.min(yMin, s.getMinY());
+         yMax = Math.max(yMax, s.getMaxY());
+      }
+
+      if (xMin > xMax)
+         return; // No data
+
+      // The axes are only invalidated when the policies decide the range should change, each invalidation
+      // triggers the re-computation of the tick marks and of the axis layout.
+      if (xAxis.isAutoRanging() && xAutoRangePolicy.update(xMin, xMax))
+      {
+         xRangeData.clear();
+         xRangeData.add(xAutoRangePolicy.getLowerBound());
+         xRangeData.add(xAutoRangePolicy.getUpperBound());
+         xAxis.invalidateRange(xRangeData);
+      }
+
+      if (yAxis.isAutoRanging() && yAutoRangePolicy.update(yMin, yMax))
+      {
+         yRangeData.clear();
+         yRangeData.add(yAutoRangePolicy.getLowerBound());
+         yRangeData.add(yAutoRangePolicy.getUpperBound());
+         yAxis.invalidateRange(yRangeData);
+      }
+   }
+
+   @Override
+   protected void layoutPlotChildren(double top, double left, double width, double height)
+   {
+      // The canvas lives in plotContent which is already positioned at the top-left corner of the plot area.
+      canvas.setWidth(width);
+      canvas.setHeight(height);
+
+      GraphicsContext gc = canvas.getGraphicsContext2D();
+      gc.clearRect(0.0, 0.0, canvas.getWidth(), canvas.getHeight());
+
+      xTransform.set(getXAxis());
+      yTransform.set(getYAxis());
+
+      while (geometries.size() < series.size())
+         geometries.add(new SeriesGeometry());
+      while (geometries.size() > series.size())
+         geometries.remove(geometries.size() - 1);
+
+      long totalSize = 0L;
+
+      for (int seriesIndex = 0; seriesIndex < series.size(); seriesIndex++)
+      {
+         DynamicSeries s = series.get(seriesIndex);
+         geometries.get(seriesIndex).setup(s, xTransform, yTransform, width, getDecimationMode());
+         totalSize += s.size();
+      }
+
+      // The series are not modified during the layout, the samples are only updated in updateAxisRange().
+      // Only the series which can be read concurrently are processed on the pool, while the others are
+      // processed on this thread.
+      boolean parallel = isParallelGeometry() && geometries.size() > 1 && totalSize >= PARALLEL_GEOMETRY_THRESHOLD;
+
+      for (int seriesIndex = 0; seriesIndex < geometries.size(); seriesIndex++)
+      {
+         if (parallel && series.get(seriesIndex).isThreadSafeForReading())
+            geometries.get(seriesIndex).fork();
+      }
+      for (int seriesIndex = 0; seriesIndex < geometries.size(); seriesIndex++)
+      {
+         if (!parallel || !series.get(seriesIndex).isThreadSafeForReading())
+            geometries.get(seriesIndex).invoke();
+      }
+      for (int seriesIndex = 0; seriesIndex < geometries.size(); seriesIndex++)
+      {
+         if (parallel && series.get(seriesIndex).isThreadSafeForReading())
+            geometries.get(seriesIndex).join();
+      }
+
+      gc.setLineCap(StrokeLineCap.BUTT);
+      gc.setLineJoin(StrokeLineJoin.BEVEL);
+
+      long pointsDrawn = 0L;
+
+      for (int seriesIndex = 0; seriesIndex < geometries.size(); seriesIndex++)
+      {
+         pointsDrawn += geometries.get(seriesIndex).draw(gc);
+      }
+
+      getMetrics().reportPointsDrawn(pointsDrawn);
+   }
+
+   /**
+    * Computes the display coordinates of the vertices of a series, can run on any thread.
+    */
+   private static final class SeriesGeometry extends RecursiveAction
+   {
+      private static final long serialVersionUID = 1L;
+
+      // Each task has its own copy of the transforms and its own buffers so tasks do not share any state.
+      private final DynamicSeriesDecimator decimator = new DynamicSeriesDecimator();
+      private final DynamicAxisTransform xTransform = new DynamicAxisTransform();
+      private final DynamicAxisTransform yTransform = new DynamicAxisTransform();
+      private DynamicSeries series;
+      private Paint stroke;
+      private double lineWidth;
+      private double width;
+      private DecimationMode mode;
+      private int from, to;
+      private int size;
+
+      void setup(DynamicSeries series, DynamicAxisTransform xTransform, DynamicAxisTransform yTransform, double width, DecimationMode mode)
+      {
+         // The properties of the series are read here, on the JavaFX Application Thread.
+         this.series = series;
+         this.xTransform.set(xTransform);
+         this.yTransform.set(yTransform);
+         this.width = width;
+         this.mode = mode;
+         stroke = series.getStroke();
+         lineWidth = series.getLineWidth();
+         from = to = size = 0;
+         reinitialize();
+      }
+
+      @Override
+      protected void compute()
+      {
+         DynamicSeries s = series;
+
+         if (s.size() < 2 || stroke == null)
+            return;
+
+         from = 0;
+         to = s.size();
+
+         if (s.isSortedByX())
+         {
+            // Only the visible samples plus one on each side are considered.
+            from = Math.max(0, s.lowerIndexOfX(xTransform.toValue(0.0)) - 1);
+            to = Math.min(s.size(), s.lowerIndexOfX(xTransform.toValue(width)) + 1);
+         }
+
+         LevelOfDetailIndex levelOfDetail = s.getLevelOfDetail();
+         int level = levelOfDetail == null ? -1 : levelOfDetail.selectLevel(to - from, width);
+
+         if (level < 0)
+            size = decimator.decimate(s, from, to, xTransform, yTransform, width, mode);
+         else if (to > from)
+            size = decimator.decimate(levelOfDetail, level, s.getSequence(from), s.getSequence(to - 1), xTransform, yTransform);
+      }
+
+      /**
+       * @return the number of vertices drawn.
+       */
+      int draw(GraphicsContext gc)
+      {
+         DynamicSeries series = this.series;
+         Paint stroke = this.stroke;
+         // Do not retain the series once drawn, it may be removed from the chart.
+         this.series = null;
+         this.stroke = null;
+
+         if (size < 2)
+            return 0;
+
+         series.samplesDrawn(from, to);
+
+         gc.setStroke(stroke);
+         gc.setLineWidth(lineWidth);
+         gc.strokePolyline(decimator.getXDisplay(), decimator.getYDisplay(), size);
+         return size;
+      }
+   }
+
+   /**
+    * Gets the policy used to compute the range of the x-axis when it is auto-ranging.
+    * <p>
+    * By default, the range follows the data exactly which is the expected behavior for a scrolling
+    * time window.
+    * </p>
+    *
+    * @return the policy for the x-axis.
+    */
+   public final AutoRangePolicy getXAutoRangePolicy()
+   {
+      return xAutoRangePolicy;
+   }
+
+   /**
+    * Gets the policy used to compute the range of the y-axis when it is auto-ranging.
+    * <p>
+    * By default, the range is padded by 10% of the data span and snapped to nice numbers, such that
+    * the axis is only updated when the signal changes significantly.
+    * </p>
+    *
+    * @return the policy for the y-axis.
+    */
+   public final AutoRangePolicy getYAutoRangePolicy()
+   {
+      return yAutoRangePolicy;
+   }
+
+   // --- decimationMode
+   private final ObjectProperty<DecimationMode> decimationMode = new SimpleObjectProperty<DecimationMode>(this, "decimationMode", DecimationMode.MIN_MAX)
+   {
+      @Override
+      protected void invalidated()
+      {
+         requestChartLayout();
+      }
+   };
+
+   public final void setDecimationMode(DecimationMode value)
+   {
+      decimationMode.set(value);
+   }
+
+   public final DecimationMode getDecimationMode()
+   {
+      return decimationMode.get();
+   }
+
+   /**
+    * The strategy used to reduce the number of vertices drawn for series that have more samples than
+    * the plot has horizontal pixels. Default value is {@link DecimationMode#MIN_MAX}.
+    */
+   public final ObjectProperty<DecimationMode> decimationModeProperty()
+   {
+      return decimationMode;
+   }
+
+   // --- parallelGeometry
+   private final BooleanProperty parallelGeometry = new SimpleBooleanProperty(this, "parallelGeometry", true);
+
+   public final void setParallelGeometry(boolean value)
+   {
+      parallelGeometry.set(value);
+   }
+
+   public final boolean isParallelGeometry()
+   {
+      return parallelGeometry.get();
+   }
+
+   /**
+    * When {@code true}, the transformation and decimation of the series are computed in parallel on
+    * the common {@link java.util.concurrent.ForkJoinPool} when the chart has several large series, only
+    * the drawing is done on the JavaFX Application Thread. Series which are not
+    * {@link DynamicSeries#isThreadSafeForReading() thread-safe for reading} are always processed on
+    * the JavaFX Application Thread. Default value is {@code true}.
+    */
+   public final BooleanProperty parallelGeometryProperty()
+   {
+      return parallelGeometry;
+   }
+}
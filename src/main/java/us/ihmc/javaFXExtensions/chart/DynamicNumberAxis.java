@@ -0,0 +1,691 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.NamedArg;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.collections.ObservableList;
+import javafx.geometry.Side;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.ValueAxis;
+import javafx.scene.control.Label;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.text.Text;
+import javafx.util.StringConverter;
+
+/**
+ * Implementation of a {@link ValueAxis} for numbers destined to charts which range changes at every
+ * frame, for instance a scrolling time window.
+ * <p>
+ * Unlike {@link NumberAxis}, this axis does not rebuild its tick marks and labels whenever its range
+ * changes:
+ * <ul>
+ * <li>the tick label nodes are pooled and each label keeps displaying the same tick while it
+ * remains in range, so scrolling the axis only moves the labels.
+ * <li>the labels are formatted into a reused buffer and their text is only replaced when it
+ * actually changes.
+ * <li>the tick marks are drawn with a single path which elements are reused.
+ * </ul>
+ * When a {@link #tickLabelFormatterProperty() tick label formatter} is set, it is used instead of
+ * the built-in formatter, at the cost of allocating a string per label update. Minor tick marks and
+ * rotated tick labels are not supported.
+ * </p>
+ */
+public class DynamicNumberAxis extends ValueAxis<Number>
+{
+   /** Upper limit on the number of ticks, in case the tick unit is very small relative to the range. */
+   private static final int MAX_TICK_COUNT = 200;
+   /** Tolerance used when computing the first and last tick in range, relative to the tick unit. */
+   private static final double TICK_EPSILON = 1.0e-9;
+
+   private final Path tickMarkPath;
+   private final Label axisLabel;
+   private final DynamicAxisTransform transform = new DynamicAxisTransform();
+
+   /**
+    * The labels in use, {@code labels[i]} displays the tick {@code firstTickIndex + i}, i.e. the
+    * value {@code labelTickOrigin + (firstTickIndex + i) * labelTickUnit}.
+    */
+   private Text[] labels = new Text[0];
+   private Text[] previousLabels = new Text[0];
+   private int labelCount = 0;
+   private long firstTickIndex = 0L;
+   private double labelTickUnit = Double.NaN;
+   private double labelTickOrigin = 0.0;
+   private StringConverter<Number> labelFormatter = null;
+   /** Labels currently not in use, they are kept hidden in the scene graph until needed again. */
+   private final List<Text> freeLabels = new ArrayList<>();
+   private final StringBuilder labelBuilder = new StringBuilder();
+   private double maxLabelWidth = 0.0;
+   private double maxLabelHeight = 0.0;
+
+   private double dataMin = Double.NaN;
+   private double dataMax = Double.NaN;
+   private boolean autoRangeValid = false;
+   private double lastAutoRangeLength = Double.NaN;
+
+   /**
+    * Creates an auto-ranging axis.
+    */
+   public DynamicNumberAxis()
+   {
+      this(true);
+   }
+
+   /**
+    * Creates a non-auto-ranging axis with the given bounds and tick unit.
+    *
+    * @param lowerBound the lower bound of the axis.
+    * @param upperBound the upper bound of the axis.
+    * @param tickUnit   the distance between two consecutive ticks.
+    */
+   public DynamicNumberAxis(@NamedArg("lowerBound") double lowerBound, @NamedArg("upperBound") double upperBound, @NamedArg("tickUnit") double tickUnit)
+   {
+      this(false);
+      setLowerBound(lowerBound);
+      setUpperBound(upperBound);
+      setTickUnit(tickUnit);
+   }
+
+   private DynamicNumberAxis(boolean autoRanging)
+   {
+      setAutoRanging(autoRanging);
+
+      // Axis keeps its nodes private, they are looked up by style class so the default CSS still applies.
+      Path path = null;
+      Label label = null;
+
+      for (Node child : getChildren())
+      {
+         if (child instanceof Label && child.getStyleClass().contains("axis-label"))
+            label = (Label) child;
+         else if (child instanceof Path && child.getStyleClass().contains("axis-tick-mark"))
+            path = (Path) child;
+      }
+
+      if (path == null)
+      {
+         path = new Path();
+         path.getStyleClass().add("axis-tick-mark");
+         getChildren().add(path);
+      }
+      if (label == null)
+      {
+         label = new Label();
+         label.getStyleClass().add("axis-label");
+         label.textProperty().bind(labelProperty());
+         getChildren().add(label);
+      }
+
+      tickMarkPath = path;
+      axisLabel = label;
+
+      InvalidationListener labelStyleListener = observable -> updateLabelStyle();
+      tickLabelFontProperty().addListener(labelStyleListener);
+      tickLabelFillProperty().addListener(labelStyleListener);
+      tickLabelFormatterProperty().addListener(observable -> requestAxisLayout());
+   }
+
+   private void updateLabelStyle()
+   {
+      for (int i = 0; i < labelCount; i++)
+      {
+         labels[i].setFont(getTickLabelFont());
+         labels[i].setFill(getTickLabelFill());
+      }
+      for (int i = 0; i < freeLabels.size(); i++)
+      {
+         freeLabels.get(i).setFont(getTickLabelFont());
+         freeLabels.get(i).setFill(getTickLabelFill());
+      }
+      requestAxisLayout();
+   }
+
+   @Override
+   public void invalidateRange(List<Number> data)
+   {
+      // The bounds of the data are kept here as ValueAxis does not expose them.
+      dataMin = Double.NaN;
+      dataMax = Double.NaN;
+
+      for (int i = 0; i < data.size(); i++)
+      {
+         double value = data.get(i).doubleValue();
+         if (Double.isNaN(value))
+            continue;
+         if (Double.isNaN(dataMin) || value < dataMin)
+            dataMin = value;
+         if (Double.isNaN(dataMax) || value > dataMax)
+            dataMax = value;
+      }
+
+      autoRangeValid = false;
+      super.invalidateRange(data);
+   }
+
+   private boolean isVertical()
+   {
+      Side side = getSide();
+      return side != null && side.isVertical();
+   }
+
+   /**
+    * Updates the range, scale, and tick labels of this axis for the given length.
+    */
+   private void updateTicks(double length)
+   {
+      if (isAutoRanging() && (!autoRangeValid || length != lastAutoRangeLength))
+      {
+         computeAutoRange(length);
+         autoRangeValid = true;
+         lastAutoRangeLength = length;
+      }
+
+      double lowerBound = getLowerBound();
+      double upperBound = getUpperBound();
+      setScale(calculateNewScale(length, lowerBound, upperBound));
+      currentLowerBound.set(lowerBound);
+
+      double span = upperBound - lowerBound;
+      double tickUnit = getTickUnit();
+
+      if (!(tickUnit > 0.0) || span / tickUnit > MAX_TICK_COUNT)
+         tickUnit = computeTickUnit(span, 10);
+
+      double tickOrigin = computeTickOrigin(tickUnit);
+      long firstIndex = (long) Math.ceil((lowerBound - tickOrigin) / tickUnit - TICK_EPSILON);
+      long lastIndex = (long) Math.floor((upperBound - tickOrigin) / tickUnit + TICK_EPSILON);
+      int count = length > 0.0 && span > 0.0 ? (int) Math.max(0L, Math.min(lastIndex - firstIndex + 1L, MAX_TICK_COUNT + 1L)) : 0;
+
+      updateLabels(firstIndex, count, tickUnit, tickOrigin);
+   }
+
+   private void computeAutoRange(double length)
+   {
+      double min = dataMin;
+      double max = dataMax;
+
+      if (!(min <= max))
+      {
+         // No data, keep the current range.
+         min = getLowerBound();
+         max = getUpperBound();
+      }
+
+      if (isForceZeroInRange())
+      {
+         if (max < 0.0)
+            max = 0.0;
+         else if (min > 0.0)
+            min = 0.0;
+      }
+
+      if (min == max)
+      {
+         double padding = min == 0.0 ? 1.0 : 0.01 * Math.abs(min);
+         min -= padding;
+         max += padding;
+      }
+
+      // Horizontal labels need more room than vertical ones.
+      double tickSpacing = getTickLabelFont().getSize() * (isVertical() ? 3.0 : 8.0);
+      int tickCount = (int) Math.max(2.0, length / tickSpacing);
+
+      setLowerBound(min);
+      setUpperBound(max);
+      setTickUnit(computeTickUnit(max - min, tickCount));
+   }
+
+   /**
+    * Computes the tick unit to use when auto-ranging, can be overridden to use units other than
+    * nice decimal numbers.
+    *
+    * @param span      the span of the range to divide.
+    * @param tickCount the desired number of ticks.
+    * @return the smallest tick unit dividing the span in at most {@code tickCount} ticks.
+    */
+   protected double computeTickUnit(double span, int tickCount)
+   {
+      return AutoRangePolicy.computeNiceTickUnit(span, tickCount);
+   }
+
+   /**
+    * Computes the value from which the ticks are placed, i.e. the ticks are at
+    * {@code origin + i * tickUnit}. Default is 0.
+    *
+    * @param tickUnit the distance between two consecutive ticks.
+    * @return the origin of the ticks.
+    */
+   protected double computeTickOrigin(double tickUnit)
+   {
+      return 0.0;
+   }
+
+   /**
+    * Appends the label of a tick, used when no {@link #tickLabelFormatterProperty() tick label
+    * formatter} is set.
+    * <p>
+    * Implementations should not allocate, the label is only updated when the output differs from
+    * its current text.
+    * </p>
+    *
+    * @param value    the value of the tick.
+    * @param tickUnit the distance between two consecutive ticks.
+    * @param output   the builder to append the label to.
+    */
+   protected void formatTickLabel(double value, double tickUnit, StringBuilder output)
+   {
+      TickLabelFormat.format(value, TickLabelFormat.fractionDigits(tickUnit), output);
+   }
+
+   /**
+    * Forces the tick labels to be formatted again on the next layout, to be called when the output
+    * of {@link #formatTickLabel(double, double, StringBuilder)} changes.
+    */
+   protected void invalidateTickLabels()
+   {
+      labelTickUnit = Double.NaN;
+      requestAxisLayout();
+   }
+
+   private void updateLabels(long firstIndex, int count, double tickUnit, double tickOrigin)
+   {
+      StringConverter<Number> formatter = getTickLabelFormatter();
+      boolean reusable = tickUnit == labelTickUnit && tickOrigin == labelTickOrigin && formatter == labelFormatter;
+      long lastIndex = firstIndex + count - 1L;
+
+      // Recycle the labels of the ticks no longer in range, or all of them if their text is outdated.
+      for (int i = 0; i < labelCount; i++)
+      {
+         long index = firstTickIndex + i;
+
+         if (!reusable || index < firstIndex || index > lastIndex)
+         {
+            labels[i].setVisible(false);
+            freeLabels.add(labels[i]);
+            labels[i] = null;
+         }
+      }
+
+      if (previousLabels.length < count)
+         previousLabels = new Text[Math.max(count, 2 * previousLabels.length)];
+
+      Text[] newLabels = previousLabels;
+      maxLabelWidth = 0.0;
+      maxLabelHeight = 0.0;
+
+      for (int i = 0; i < count; i++)
+      {
+         long index = firstIndex + i;
+         long previousPosition = index - firstTickIndex;
+         Text label = null;
+
+         if (reusable && previousPosition >= 0L && previousPosition < labelCount)
+            label = labels[(int) previousPosition];
+
+         if (label == null)
+         {
+            label = obtainLabel();
+            updateLabelText(label, tickOrigin + index * tickUnit, tickUnit, formatter);
+         }
+
+         newLabels[i] = label;
+         double width = label.getLayoutBounds().getWidth();
+         double height = label.getLayoutBounds().getHeight();
+         if (width > maxLabelWidth)
+            maxLabelWidth = width;
+         if (height > maxLabelHeight)
+            maxLabelHeight = height;
+      }
+
+      Arrays.fill(labels, 0, labelCount, null);
+      previousLabels = labels;
+      labels = newLabels;
+      labelCount = count;
+      firstTickIndex = firstIndex;
+      labelTickUnit = tickUnit;
+      labelTickOrigin = tickOrigin;
+      labelFormatter = formatter;
+   }
+
+   private Text obtainLabel()
+   {
+      if (!freeLabels.isEmpty())
+         return freeLabels.remove(freeLabels.size() - 1);
+
+      Text label = new Text();
+      label.setTextOrigin(VPos.TOP);
+      label.setFont(getTickLabelFont());
+      label.setFill(getTickLabelFill());
+      label.setVisible(false);
+      getChildren().add(label);
+      return label;
+   }
+
+   private void updateLabelText(Text label, double value, double tickUnit, StringConverter<Number> formatter)
+   {
+      if (formatter != null)
+      {
+         String text = formatter.toString(value);
+         if (!text.equals(label.getText()))
+            label.setText(text);
+         return;
+      }
+
+      labelBuilder.setLength(0);
+      formatTickLabel(value, tickUnit, labelBuilder);
+
+      if (!TickLabelFormat.contentEquals(label.getText(), labelBuilder))
+         label.setText(labelBuilder.toString());
+   }
+
+   @Override
+   protected void layoutChildren()
+   {
+      Side side = getSide() == null ? Side.BOTTOM : getSide();
+      boolean vertical = side.isVertical();
+      double width = getWidth();
+      double height = getHeight();
+      double length = vertical ? height : width;
+
+      updateTicks(length);
+      transform.set(this);
+
+      double tickLength = isTickMarkVisible() ? Math.max(0.0, getTickLength()) : 0.0;
+      double labelOffset = tickLength + getTickLabelGap();
+      boolean labelsVisible = isTickLabelsVisible();
+
+      // Skip labels so they do not overlap, based on the tick index so the same labels remain visible while scrolling.
+      double tickSpacing = Math.abs(labelTickUnit * getScale());
+      double labelExtent = (vertical ? maxLabelHeight : maxLabelWidth) + getTickLabelGap();
+      long labelStride = tickSpacing > 0.0 ? Math.max(1L, (long) Math.ceil(labelExtent / tickSpacing)) : 1L;
+
+      ObservableList<PathElement> elements = tickMarkPath.getElements();
+      int tickMarkCount = isTickMarkVisible() ? labelCount : 0;
+
+      while (elements.size() < 2 * tickMarkCount)
+      {
+         elements.add(new MoveTo());
+         elements.add(new LineTo());
+      }
+      if (elements.size() > 2 * tickMarkCount)
+         elements.remove(2 * tickMarkCount, elements.size());
+
+      for (int i = 0; i < labelCount; i++)
+      {
+         long index = firstTickIndex + i;
+         // Tick marks are aligned on the center of the pixels to be crisp.
+         double position = Math.floor(transform.toDisplay(labelTickOrigin + index * labelTickUnit)) + 0.5;
+
+         if (i < tickMarkCount)
+         {
+            MoveTo moveTo = (MoveTo) elements.get(2 * i);
+            LineTo lineTo = (LineTo) elements.get(2 * i + 1);
+
+            switch (side)
+            {
+               case LEFT:
+                  moveTo.setX(width - tickLength);
+                  moveTo.setY(position);
+                  lineTo.setX(width);
+                  lineTo.setY(position);
+                  break;
+               case RIGHT:
+                  moveTo.setX(0.0);
+                  moveTo.setY(position);
+                  lineTo.setX(tickLength);
+                  lineTo.setY(position);
+                  break;
+               case TOP:
+                  moveTo.setX(position);
+                  moveTo.setY(height - tickLength);
+                  lineTo.setX(position);
+                  lineTo.setY(height);
+                  break;
+               default:
+                  moveTo.setX(position);
+                  moveTo.setY(0.0);
+                  lineTo.setX(position);
+                  lineTo.setY(tickLength);
+                  break;
+            }
+         }
+
+         Text label = labels[i];
+         boolean visible = labelsVisible && Math.floorMod(index, labelStride) == 0L && position >= -0.5 && position <= length + 0.5;
+         label.setVisible(visible);
+
+         if (!visible)
+            continue;
+
+         double labelWidth = label.getLayoutBounds().getWidth();
+         double labelHeight = label.getLayoutBounds().getHeight();
+
+         switch (side)
+         {
+            case LEFT:
+               label.relocate(width - labelOffset - labelWidth, position - 0.5 * labelHeight);
+               break;
+            case RIGHT:
+               label.relocate(labelOffset, position - 0.5 * labelHeight);
+               break;
+            case TOP:
+               label.relocate(position - 0.5 * labelWidth, height - labelOffset - labelHeight);
+               break;
+            default:
+               label.relocate(position - 0.5 * labelWidth, labelOffset);
+               break;
+         }
+      }
+
+      layoutAxisLabel(side, width, height);
+   }
+
+   private void layoutAxisLabel(Side side, double width, double height)
+   {
+      String text = axisLabel.getText();
+
+      if (text == null || text.isEmpty())
+      {
+         axisLabel.setVisible(false);
+         return;
+      }
+
+      axisLabel.setVisible(true);
+      double thickness = axisLabel.prefHeight(-1);
+
+      switch (side)
+      {
+         case LEFT:
+         case RIGHT:
+            // The label is rotated around its center.
+            axisLabel.setRotate(side == Side.LEFT ? -90.0 : 90.0);
+            axisLabel.resize(height, thickness);
+            double x = side == Side.LEFT ? 0.0 : width - thickness;
+            axisLabel.relocate(x + 0.5 * thickness - 0.5 * height, 0.5 * height - 0.5 * thickness);
+            break;
+         case TOP:
+            axisLabel.setRotate(0.0);
+            axisLabel.resizeRelocate(0.0, 0.0, width, thickness);
+            break;
+         default:
+            axisLabel.setRotate(0.0);
+            axisLabel.resizeRelocate(0.0, height - thickness, width, thickness);
+            break;
+      }
+   }
+
+   private double getAxisLabelThickness()
+   {
+      String text = axisLabel.getText();
+      if (text == null || text.isEmpty())
+         return 0.0;
+      return axisLabel.prefHeight(-1) + getTickLabelGap();
+   }
+
+   private double getTickSize()
+   {
+      return (isTickMarkVisible() ? Math.max(0.0, getTickLength()) : 0.0) + getTickLabelGap();
+   }
+
+   @Override
+   protected double computePrefWidth(double height)
+   {
+      if (!isVertical())
+         return 150.0;
+
+      // The width depends on the labels, which depend on the length of the axis.
+      updateTicks(height > 0.0 ? height : 150.0);
+      double labelWidth = isTickLabelsVisible() ? maxLabelWidth : 0.0;
+      return Math.ceil(getTickSize() + labelWidth + getAxisLabelThickness());
+   }
+
+   @Override
+   protected double computePrefHeight(double width)
+   {
+      if (isVertical())
+         return 150.0;
+
+      updateTicks(width > 0.0 ? width : 150.0);
+      double labelHeight = 0.0;
+      if (isTickLabelsVisible())
+         labelHeight = labelCount > 0 ? maxLabelHeight : Math.ceil(1.2 * getTickLabelFont().getSize());
+      return Math.ceil(getTickSize() + labelHeight + getAxisLabelThickness());
+   }
+
+   @Override
+   protected Object getRange()
+   {
+      return new double[] {getLowerBound(), getUpperBound(), getTickUnit()};
+   }
+
+   @Override
+   protected void setRange(Object range, boolean animate)
+   {
+      double[] bounds = (double[]) range;
+      setLowerBound(bounds[0]);
+      setUpperBound(bounds[1]);
+      setTickUnit(bounds[2]);
+   }
+
+   @Override
+   protected Object autoRange(double minValue, double maxValue, double length, double labelSize)
+   {
+      double tickCount = Math.max(2.0, length / (isVertical() ? 1.5 * labelSize : 4.0 * labelSize));
+      return new double[] {minValue, maxValue, computeTickUnit(maxValue - minValue, (int) tickCount)};
+   }
+
+   @Override
+   protected List<Number> calculateTickValues(double length, Object range)
+   {
+      double[] bounds = (double[]) range;
+      double tickUnit = bounds[2];
+      List<Number> tickValues = new ArrayList<>();
+
+      if (!(tickUnit > 0.0))
+         return tickValues;
+
+      double tickOrigin = computeTickOrigin(tickUnit);
+      long firstIndex = (long) Math.ceil((bounds[0] - tickOrigin) / tickUnit - TICK_EPSILON);
+      long lastIndex = (long) Math.floor((bounds[1] - tickOrigin) / tickUnit + TICK_EPSILON);
+
+      for (long index = firstIndex; index <= lastIndex && tickValues.size() <= MAX_TICK_COUNT; index++)
+      {
+         tickValues.add(tickOrigin + index * tickUnit);
+      }
+      return tickValues;
+   }
+
+   @Override
+   protected List<Number> calculateMinorTickMarks()
+   {
+      return Collections.emptyList();
+   }
+
+   @Override
+   protected String getTickMarkLabel(Number value)
+   {
+      StringConverter<Number> formatter = getTickLabelFormatter();
+      if (formatter != null)
+         return formatter.toString(value);
+
+      labelBuilder.setLength(0);
+      formatTickLabel(value.doubleValue(), getTickUnit(), labelBuilder);
+      return labelBuilder.toString();
+   }
+
+   // --- tickUnit
+   private final DoubleProperty tickUnit = new SimpleDoubleProperty(this, "tickUnit", 5.0)
+   {
+      @Override
+      protected void invalidated()
+      {
+         if (!isAutoRanging())
+            requestAxisLayout();
+      }
+   };
+
+   public final void setTickUnit(double value)
+   {
+      tickUnit.set(value);
+   }
+
+   public final double getTickUnit()
+   {
+      return tickUnit.get();
+   }
+
+   /**
+    * The distance between two consecutive ticks, computed from the range and length of the axis when
+    * it is auto-ranging. Default value is 5.
+    */
+   public final DoubleProperty tickUnitProperty()
+   {
+      return tickUnit;
+   }
+
+   // --- forceZeroInRange
+   private final BooleanProperty forceZeroInRange = new SimpleBooleanProperty(this, "forceZeroInRange", false)
+   {
+      @Override
+      protected void invalidated()
+      {
+         if (isAutoRanging())
+         {
+            autoRangeValid = false;
+            requestAxisLayout();
+         }
+      }
+   };
+
+   public final void setForceZeroInRange(boolean value)
+   {
+      forceZeroInRange.set(value);
+   }
+
+   public final boolean isForceZeroInRange()
+   {
+      return forceZeroInRange.get();
+   }
+
+   /**
+    * When {@code true}, zero is always included in the range of the axis when auto-ranging. Default
+    * value is {@code false}, unlike {@link NumberAxis}, as live signals are rarely centered on zero.
+    */
+   public final BooleanProperty forceZeroInRangeProperty()
+   {
+      return forceZeroInRange;
+   }
+}
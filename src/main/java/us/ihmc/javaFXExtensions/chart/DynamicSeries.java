@@ -0,0 +1,327 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+/**
+ * Base class for a series of (x, y) samples that can be plotted by a {@link DynamicLineChart}.
+ * <p>
+ * Samples are accessed through primitive getters so implementations are free to store them
+ * however suits them best, i.e. without boxing every sample into a {@code XYChart.Data}.
+ * </p>
+ */
+public abstract class DynamicSeries
+{
+   private final StringProperty name = new SimpleStringProperty(this, "name");
+   private final ObjectProperty<Paint> stroke = new SimpleObjectProperty<>(this, "stroke", Color.BLACK);
+   private final DoubleProperty lineWidth = new SimpleDoubleProperty(this, "lineWidth", 1.0);
+
+   /**
+    * Creates a new series.
+    *
+    * @param name the name of this series.
+    */
+   public DynamicSeries(String name)
+   {
+      setName(name);
+   }
+
+   /**
+    * Tests whether this series has received new data that is not yet visible to the chart.
+    * <p>
+    * This is called once per pulse by the chart to decide whether it needs to be laid out. The
+    * default implementation returns {@code false}.
+    * </p>
+    *
+    * @return {@code true} if {@link #update()} should be called.
+    */
+   public boolean hasPendingData()
+   {
+      return false;
+   }
+
+   /**
+    * Makes the data received since the last call visible to the chart.
+    * <p>
+    * This is called by the chart on the JavaFX Application Thread at the beginning of its layout,
+    * before the data is accessed. The default implementation does nothing and returns {@code false}.
+    * </p>
+    *
+    * @return {@code true} if the content of this series has changed.
+    */
+   public boolean update()
+   {
+      return false;
+   }
+
+   /**
+    * @return the number of samples currently available in this series.
+    */
+   public abstract int size();
+
+   /**
+    * Gets the total number of samples made visible to the chart since this series was created,
+    * including the samples that were since removed.
+    * <p>
+    * The default implementation returns {@link #size()}.
+    * </p>
+    *
+    * @return the total number of samples received by this series.
+    */
+   public long getSampleCount()
+   {
+      return size();
+   }
+
+   /**
+    * @param index the index of the sample, in [0, {@link #size()}[, 0 being the oldest sample.
+    * @return the x-coordinate of the sample.
+    */
+   public abstract double getX(int index);
+
+   /**
+    * @param index the index of the sample, in [0, {@link #size()}[, 0 being the oldest sample.
+    * @return the y-coordinate of the sample.
+    */
+   public abstract double getY(int index);
+
+   /**
+    * Gets the sequence number of a sample, i.e. a number that identifies the sample independently of
+    * the samples that were removed from this series. Sequence numbers of consecutive samples are
+    * consecutive.
+    * <p>
+    * The default implementation returns the index.
+    * </p>
+    *
+    * @param index the index of the sample, in [0, {@link #size()}[.
+    * @return the sequence number of the sample.
+    */
+   public long getSequence(int index)
+   {
+      return index;
+   }
+
+   /**
+    * Finds the index of the first sample with an x-coordinate greater or equal to the given value
+    * using a binary search. The x-coordinates of this series have to be sorted in ascending order.
+    *
+    * @param x the x-coordinate to search for.
+    * @return the index of the first sample with an x-coordinate greater or equal to {@code x}, or
+    *         {@link #size()} if there is none.
+    */
+   public int lowerIndexOfX(double x)
+   {
+      int low = 0;
+      int high = size();
+
+      while (low < high)
+      {
+         int mid = (low + high) >>> 1;
+         if (getX(mid) < x)
+            low = mid + 1;
+         else
+            high = mid;
+      }
+      return low;
+   }
+
+   /**
+    * Tests whether the x-coordinates of this series are sorted in ascending order, in which case the
+    * chart only reads the samples in the visible range, see {@link #lowerIndexOfX(double)}.
+    * <p>
+    * The default implementation returns {@code true} when this series provides a
+    * {@link #getLevelOfDetail() level of detail index}.
+    * </p>
+    *
+    * @return {@code true} if the x-coordinates are sorted.
+    */
+   public boolean isSortedByX()
+   {
+      return getLevelOfDetail() != null;
+   }
+
+   /**
+    * Gets the multi-resolution summary of this series, if any, used to plot a large number of
+    * samples. The x-coordinates of a series providing an index have to be sorted in ascending order.
+    * <p>
+    * The default implementation returns {@code null}.
+    * </p>
+    *
+    * @return the index of this series, or {@code null} if this series has none.
+    */
+   public LevelOfDetailIndex getLevelOfDetail()
+   {
+      return null;
+   }
+
+   /**
+    * Tests whether the samples of this series can be read from several threads at once while the
+    * chart is laid out, i.e. {@link #getX(int)}, {@link #getY(int)}, {@link #getSequence(int)},
+    * {@link #lowerIndexOfX(double)} and the {@link #getLevelOfDetail() level of detail index}. The
+    * chart only computes the geometry of such series on the {@link java.util.concurrent.ForkJoinPool},
+    * the other series are processed on the JavaFX Application Thread.
+    * <p>
+    * The default implementation returns {@code false}.
+    * </p>
+    *
+    * @return {@code true} if reading the samples does not modify any state of this series.
+    */
+   public boolean isThreadSafeForReading()
+   {
+      return false;
+   }
+
+   /**
+    * Gets the block of compressed samples which first sample is at the given index, if any, such that
+    * the chart can plot the block from its summary without decoding it.
+    * <p>
+    * The default implementation returns {@code null}.
+    * </p>
+    *
+    * @param index the index of the sample, in [0, {@link #size()}[.
+    * @return the block starting at {@code index}, or {@code null}.
+    */
+   CompressedSampleBlock getBlockStartingAt(int index)
+   {
+      return null;
+   }
+
+   /**
+    * Called by the chart on the JavaFX Application Thread once the samples in [{@code from},
+    * {@code to}[ have been drawn. The default implementation does nothing.
+    *
+    * @param from the index of the first sample drawn, inclusive.
+    * @param to   the index of the last sample drawn, exclusive.
+    */
+   void samplesDrawn(int from, int to)
+   {
+   }
+
+   /**
+    * Gets the minimum x-coordinate of the samples available in this series.
+    * <p>
+    * The default implementation iterates over all the samples, implementations that are updated
+    * frequently should track the bounds incrementally.
+    * </p>
+    *
+    * @return the minimum x-coordinate, or {@link Double#POSITIVE_INFINITY} if this series is empty.
+    */
+   public double getMinX()
+   {
+      double min = Double.POSITIVE_INFINITY;
+      for (int i = 0; i < size(); i++)
+         min = Math.min(min, getX(i));
+      return min;
+   }
+
+   /**
+    * Gets the maximum x-coordinate of the samples available in this series.
+    * <p>
+    * The default implementation iterates over all the samples, implementations that are updated
+    * frequently should track the bounds incrementally.
+    * </p>
+    *
+    * @return the maximum x-coordinate, or {@link Double#NEGATIVE_INFINITY} if this series is empty.
+    */
+   public double getMaxX()
+   {
+      double max = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < size(); i++)
+         max = Math.max(max, getX(i));
+      return max;
+   }
+
+   /**
+    * Gets the minimum y-coordinate of the samples available in this series.
+    * <p>
+    * The default implementation iterates over all the samples, implementations that are updated
+    * frequently should track the bounds incrementally.
+    * </p>
+    *
+    * @return the minimum y-coordinate, or {@link Double#POSITIVE_INFINITY} if this series is empty.
+    */
+   public double getMinY()
+   {
+      double min = Double.POSITIVE_INFINITY;
+      for (int i = 0; i < size(); i++)
+         min = Math.min(min, getY(i));
+      return min;
+   }
+
+   /**
+    * Gets the maximum y-coordinate of the samples available in this series.
+    * <p>
+    * The default implementation iterates over all the samples, implementations that are updated
+    * frequently should track the bounds incrementally.
+    * </p>
+    *
+    * @return the maximum y-coordinate, or {@link Double#NEGATIVE_INFINITY} if this series is empty.
+    */
+   public double getMaxY()
+   {
+      double max = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < size(); i++)
+         max = Math.max(max, getY(i));
+      return max;
+   }
+
+   public final void setName(String value)
+   {
+      name.set(value);
+   }
+
+   public final String getName()
+   {
+      return name.get();
+   }
+
+   /**
+    * The name of this series.
+    */
+   public final StringProperty nameProperty()
+   {
+      return name;
+   }
+
+   public final void setStroke(Paint value)
+   {
+      stroke.set(value);
+   }
+
+   public final Paint getStroke()
+   {
+      return stroke.get();
+   }
+
+   /**
+    * The paint used to draw the line of this series.
+    */
+   public final ObjectProperty<Paint> strokeProperty()
+   {
+      return stroke;
+   }
+
+   public final void setLineWidth(double value)
+   {
+      lineWidth.set(value);
+   }
+
+   public final double getLineWidth()
+   {
+      return lineWidth.get();
+   }
+
+   /**
+    * The width in pixels of the line used to draw this series.
+    */
+   public final DoubleProperty lineWidthProperty()
+   {
+      return lineWidth;
+   }
+}
@@ -0,0 +1,331 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.util.Arrays;
+
+/**
+ * Transforms the samples of a {@link DynamicSeries} into display coordinates while reducing them
+ * to a number of vertices proportional to the plot width, see {@link DecimationMode}.
+ * <p>
+ * The output buffers are reused from one call to the next, so once they have grown to the
+ * required size decimating does not allocate.
+ * </p>
+ */
+final class DynamicSeriesDecimator
+{
+   private double[] xDisplay = new double[0];
+   private double[] yDisplay = new double[0];
+   private int size = 0;
+
+   // State of the pixel column currently being reduced in MIN_MAX mode.
+   private int currentColumn;
+   private int firstIndex, minIndex, maxIndex, lastIndex;
+   private double firstX, firstY, minX, minY, maxX, maxY, lastX, lastY;
+
+   DynamicSeriesDecimator()
+   {
+   }
+
+   /**
+    * Transforms and decimates the samples in [{@code from}, {@code to}[ of the given series.
+    *
+    * @param series     the series to decimate.
+    * @param from       the index of the first sample to consider, inclusive.
+    * @param to         the index of the last sample to consider, exclusive.
+    * @param xTransform the transform to apply to the x-coordinates.
+    * @param yTransform the transform to apply to the y-coordinates.
+    * @param width      the width in pixels of the plot area.
+    * @param mode       the decimation strategy to use.
+    * @return the number of vertices resulting from the decimation.
+    */
+   int decimate(DynamicSeries series, int from, int to, DynamicAxisTransform xTransform, DynamicAxisTransform yTransform, double width,
+                DecimationMode mode)
+   {
+      size = 0;
+      int count = to - from;
+
+      if (count <= 0)
+         return 0;
+
+      // Not worth decimating when there are fewer samples than pixel columns.
+      if (mode == null || mode == DecimationMode.NONE || count <= width)
+         transformAll(series, from, to, xTransform, yTransform);
+      else if (mode == DecimationMode.MIN_MAX)
+         decimateMinMax(series, from, to, xTransform, yTransform, width);
+      else
+         decimateLTTB(series, from, to, xTransform, yTransform, width);
+
+      return size;
+   }
+
+   /**
+    * Transforms the buckets of a level of detail index covering the samples in
+    * [{@code firstSequence}, {@code lastSequence}] into an envelope made of a vertical segment per
+    * bucket.
+    *
+    * @param index         the level of detail index to use.
+    * @param level         the level of the buckets to use.
+    * @param firstSequence the sequence number of the first sample to consider, inclusive.
+    * @param lastSequence  the sequence number of the last sample to consider, inclusive.
+    * @param xTransform    the transform to apply to the x-coordinates.
+    * @param yTransform    the transform to apply to the y-coordinates.
+    * @return the number of vertices of the envelope.
+    */
+   int decimate(LevelOfDetailIndex index, int level, long firstSequence, long lastSequence, DynamicAxisTransform xTransform,
+                DynamicAxisTransform yTransform)
+   {
+      size = 0;
+      long firstBucket = index.getBucket(level, firstSequence);
+      long lastBucket = index.getBucket(level, lastSequence);
+      ensureCapacity((int) (2 * (lastBucket - firstBucket + 1)));
+
+      for (long bucket = firstBucket; bucket <= lastBucket; bucket++)
+      {
+         double minY = index.getMinY(level, bucket);
+         double maxY = index.getMaxY(level, bucket);
+
+         if (minY > maxY)
+            continue; // No valid sample in this bucket
+
+         double x = xTransform.toDisplay(0.5 * (index.getMinX(level, bucket) + index.getMaxX(level, bucket)));
+         append(x, yTransform.toDisplay(minY));
+         if (maxY != minY)
+            append(x, yTransform.toDisplay(maxY));
+      }
+
+      return size;
+   }
+
+   double[] getXDisplay()
+   {
+      return xDisplay;
+   }
+
+   double[] getYDisplay()
+   {
+      return yDisplay;
+   }
+
+   int size()
+   {
+      return size;
+   }
+
+   private void transformAll(DynamicSeries series, int from, int to, DynamicAxisTransform xTransform, DynamicAxisTransform yTransform)
+   {
+      ensureCapacity(to - from);
+
+      for (int i = from; i < to; i++)
+      {
+         xDisplay[size] = xTransform.toDisplay(series.getX(i));
+         yDisplay[size] = yTransform.toDisplay(series.getY(i));
+         size++;
+      }
+   }
+
+   private void decimateMinMax(DynamicSeries series, int from, int to, DynamicAxisTransform xTransform, DynamicAxisTransform yTransform, double width)
+   {
+      // Columns are clamped to [-1, width + 1] so samples outside the plot collapse into a single column on each side.
+      int maxColumn = (int) Math.ceil(width) + 1;
+      ensureCapacity(4 * (maxColumn + 2));
+
+      currentColumn = Integer.MIN_VALUE;
+
+      for (int i = from; i < to; i++)
+      {
+         CompressedSampleBlock block = series.getBlockStartingAt(i);
+
+         if (block != null && i + block.size() <= to && block.isSortedByX())
+         {
+            double blockFirstX = xTransform.toDisplay(block.getFirstX());
+            double blockLastX = xTransform.toDisplay(block.getLastX());
+
+            if (toColumn(blockFirstX, maxColumn) == toColumn(blockLastX, maxColumn))
+            {
+               // The whole block falls in a single column, only its first and last samples and its extrema
+               // can contribute to the column, so the block does not need to be decoded.
+               addSample(i, blockFirstX, yTransform.toDisplay(block.getFirstY()), maxColumn);
+               int minYIndex = block.getMinYIndex();
+               int maxYIndex = block.getMaxYIndex();
+
+               if (minYIndex >= 0)
+               {
+                  // The extrema are added in the order they were sampled.
+                  double minYDisplay = yTransform.toDisplay(block.getMinY());
+                  double maxYDisplay = yTransform.toDisplay(block.getMaxY());
+
+                  if (minYIndex < maxYIndex)
+                  {
+                     addSample(i + minYIndex, xTransform.toDisplay(block.getMinYX()), minYDisplay, maxColumn);
+                     addSample(i + maxYIndex, xTransform.toDisplay(block.getMaxYX()), maxYDisplay, maxColumn);
+                  }
+                  else
+                  {
+                     addSample(i + maxYIndex, xTransform.toDisplay(block.getMaxYX()), maxYDisplay, maxColumn);
+                     addSample(i + minYIndex, xTransform.toDisplay(block.getMinYX()), minYDisplay, maxColumn);
+                  }
+               }
+
+               i += block.size() - 1;
+               addSample(i, blockLastX, yTransform.toDisplay(block.getLastY()), maxColumn);
+               continue;
+            }
+         }
+
+         addSample(i, xTransform.toDisplay(series.getX(i)), yTransform.toDisplay(series.getY(i)), maxColumn);
+      }
+
+      if (currentColumn != Integer.MIN_VALUE)
+         flushColumn();
+   }
+
+   private static int toColumn(double x, int maxColumn)
+   {
+      return (int) Math.floor(Math.min(Math.max(x, -1.0), maxColumn));
+   }
+
+   private void addSample(int i, double x, double y, int maxColumn)
+   {
+      int column = toColumn(x, maxColumn);
+
+      if (column != currentColumn)
+      {
+         if (currentColumn != Integer.MIN_VALUE)
+            flushColumn();
+
+         currentColumn = column;
+         firstIndex = minIndex = maxIndex = lastIndex = i;
+         firstX = minX = maxX = lastX = x;
+         firstY = minY = maxY = lastY = y;
+      }
+      else
+      {
+         if (y < minY)
+         {
+            minIndex = i;
+            minX = x;
+            minY = y;
+         }
+         if (y > maxY)
+         {
+            maxIndex = i;
+            maxX = x;
+            maxY = y;
+         }
+         lastIndex = i;
+         lastX = x;
+         lastY = y;
+      }
+   }
+
+   private void flushColumn()
+   {
+      // The extrema are emitted in the order they were sampled so the line does not go back and forth.
+      append(firstX, firstY);
+
+      if (minIndex < maxIndex)
+      {
+         if (minIndex != firstIndex)
+            append(minX, minY);
+         if (maxIndex != lastIndex)
+            append(maxX, maxY);
+      }
+      else if (maxIndex < minIndex)
+      {
+         if (maxIndex != firstIndex)
+            append(maxX, maxY);
+         if (minIndex != lastIndex)
+            append(minX, minY);
+      }
+
+      if (lastIndex != firstIndex)
+         append(lastX, lastY);
+   }
+
+   private void decimateLTTB(DynamicSeries series, int from, int to, DynamicAxisTransform xTransform, DynamicAxisTransform yTransform, double width)
+   {
+      int count = to - from;
+      int threshold = Math.max(3, (int) Math.min(count, 2.0 * Math.ceil(width)));
+      ensureCapacity(threshold);
+
+      double bucketSize = (double) (count - 2) / (threshold - 2);
+
+      double selectedX = xTransform.toDisplay(series.getX(from));
+      double selectedY = yTransform.toDisplay(series.getY(from));
+      append(selectedX, selectedY);
+
+      for (int bucket = 0; bucket < threshold - 2; bucket++)
+      {
+         // Average of the next bucket, used as the third vertex of the triangles.
+         int nextStart = from + (int) Math.floor((bucket + 1) * bucketSize) + 1;
+         int nextEnd = Math.min(from + (int) Math.floor((bucket + 2) * bucketSize) + 1, to);
+         double averageX = 0.0;
+         double averageY = 0.0;
+
+         for (int i = nextStart; i < nextEnd; i++)
+         {
+            averageX += xTransform.toDisplay(series.getX(i));
+            averageY += yTransform.toDisplay(series.getY(i));
+         }
+
+         int nextLength = nextEnd - nextStart;
+         if (nextLength > 0)
+         {
+            averageX /= nextLength;
+            averageY /= nextLength;
+         }
+         else
+         {
+            averageX = xTransform.toDisplay(series.getX(to - 1));
+            averageY = yTransform.toDisplay(series.getY(to - 1));
+         }
+
+         // Select the point of the current bucket that forms the largest triangle.
+         int start = from + (int) Math.floor(bucket * bucketSize) + 1;
+         int end = from + (int) Math.floor((bucket + 1) * bucketSize) + 1;
+         double maxArea = -1.0;
+         double maxAreaX = 0.0;
+         double maxAreaY = 0.0;
+
+         for (int i = start; i < end; i++)
+         {
+            double x = xTransform.toDisplay(series.getX(i));
+            double y = yTransform.toDisplay(series.getY(i));
+            double area = Math.abs((selectedX - averageX) * (y - selectedY) - (selectedX - x) * (averageY - selectedY));
+
+            if (area > maxArea)
+            {
+               maxArea = area;
+               maxAreaX = x;
+               maxAreaY = y;
+            }
+         }
+
+         selectedX = maxAreaX;
+         selectedY = maxAreaY;
+         append(selectedX, selectedY);
+      }
+
+      append(xTransform.toDisplay(series.getX(to - 1)), yTransform.toDisplay(series.getY(to - 1)));
+   }
+
+   private void append(double x, double y)
+   {
+      // Only happens in MIN_MAX mode when the x-coordinates are not sorted and columns are visited more than once.
+      if (size == xDisplay.length)
+         ensureCapacity(size + 1);
+
+      xDisplay[size] = x;
+      yDisplay[size] = y;
+      size++;
+   }
+
+   private void ensureCapacity(int capacity)
+   {
+      if (xDisplay.length >= capacity)
+         return;
+
+      int newCapacity = Math.max(capacity, 2 * xDisplay.length);
+      xDisplay = Arrays.copyOf(xDisplay, newCapacity);
+      yDisplay = Arrays.copyOf(yDisplay, newCapacity);
+   }
+}
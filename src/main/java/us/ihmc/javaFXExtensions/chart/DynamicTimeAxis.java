@@ -0,0 +1,281 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.TimeUnit;
+
+import javafx.beans.NamedArg;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+/**
+ * Axis for nanosecond timestamps, meant to be used with {@link TimeSeries}.
+ * <p>
+ * The values on this axis are offsets in nanoseconds from the {@link #baseTimeProperty() base
+ * time}, such that timestamps far from the epoch are displayed exactly, see {@link TimeSeries}. Use
+ * {@link #toValue(long)} and {@link #toTime(double)} to convert between the two.
+ * </p>
+ * <p>
+ * The ticks are placed on round times, e.g. every 10 milliseconds or every 5 minutes, and are
+ * labeled with the time of day in the {@link #zoneProperty() zone} of this axis, or with the date
+ * when they are at least one day apart.
+ * </p>
+ */
+public class DynamicTimeAxis extends DynamicNumberAxis
+{
+   private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+   private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1L);
+   private static final long NANOS_PER_HOUR = TimeUnit.HOURS.toNanos(1L);
+   private static final long NANOS_PER_DAY = TimeUnit.DAYS.toNanos(1L);
+   /** The tick units up to 12 hours, whole numbers of days are used beyond. */
+   private static final long[] TICK_UNITS;
+
+   static
+   {
+      long[] subSecondFactors = {1L, 2L, 5L, 10L, 20L, 50L, 100L, 200L, 500L};
+      long[] units = new long[3 * subSecondFactors.length + 17];
+      int count = 0;
+
+      for (long scale = 1L; scale < NANOS_PER_SECOND; scale *= 1000L)
+      {
+         for (long factor : subSecondFactors)
+         {
+            units[count++] = factor * scale;
+         }
+      }
+      for (long seconds : new long[] {1L, 2L, 5L, 10L, 15L, 30L})
+      {
+         units[count++] = seconds * NANOS_PER_SECOND;
+      }
+      for (long minutes : new long[] {1L, 2L, 5L, 10L, 15L, 30L})
+      {
+         units[count++] = minutes * NANOS_PER_MINUTE;
+      }
+      for (long hours : new long[] {1L, 2L, 3L, 6L, 12L})
+      {
+         units[count++] = hours * NANOS_PER_HOUR;
+      }
+
+      TICK_UNITS = units;
+   }
+
+   /** Offset of the zone in nanoseconds, valid for the times in [zoneOffsetStart, zoneOffsetEnd). */
+   private long zoneOffset = 0L;
+   private long zoneOffsetStart = Long.MAX_VALUE;
+   private long zoneOffsetEnd = Long.MIN_VALUE;
+
+   /**
+    * Creates an auto-ranging axis with a base time of 0.
+    */
+   public DynamicTimeAxis()
+   {
+      super();
+   }
+
+   /**
+    * Creates an auto-ranging axis.
+    *
+    * @param baseTime the timestamp in nanoseconds from which the values of this axis are measured.
+    */
+   public DynamicTimeAxis(@NamedArg("baseTime") long baseTime)
+   {
+      super();
+      setBaseTime(baseTime);
+   }
+
+   /**
+    * Converts a timestamp to a value on this axis.
+    *
+    * @param time the timestamp in nanoseconds.
+    * @return the corresponding value on this axis.
+    */
+   public double toValue(long time)
+   {
+      return time - getBaseTime();
+   }
+
+   /**
+    * Converts a value on this axis to a timestamp.
+    *
+    * @param value the value on this axis.
+    * @return the corresponding timestamp in nanoseconds.
+    */
+   public long toTime(double value)
+   {
+      return getBaseTime() + Math.round(value);
+   }
+
+   @Override
+   protected double computeTickUnit(double span, int tickCount)
+   {
+      double rawTickUnit = span / Math.max(1, tickCount);
+
+      for (long tickUnit : TICK_UNITS)
+      {
+         if (tickUnit >= rawTickUnit)
+            return tickUnit;
+      }
+
+      if (!(rawTickUnit < Double.POSITIVE_INFINITY))
+         return NANOS_PER_DAY;
+
+      // Nice whole numbers of days.
+      return NANOS_PER_DAY * Math.ceil(AutoRangePolicy.computeNiceTickUnit(rawTickUnit / NANOS_PER_DAY, 1));
+   }
+
+   @Override
+   protected double computeTickOrigin(double tickUnit)
+   {
+      long unit = (long) tickUnit;
+
+      if (unit <= 1L)
+         return 0.0;
+
+      // The ticks are on multiples of the unit in local time.
+      long localBaseTime = getBaseTime() + getZoneOffset(toTime(getLowerBound()));
+      return -Math.floorMod(localBaseTime, unit);
+   }
+
+   @Override
+   protected void formatTickLabel(double value, double tickUnit, StringBuilder output)
+   {
+      long time = toTime(value);
+      long localTime = time + getZoneOffset(time);
+      long unit = Math.max(1L, (long) tickUnit);
+
+      if (unit >= NANOS_PER_DAY)
+      {
+         // Only when the ticks are days apart, the allocation does not matter.
+         output.append(LocalDate.ofEpochDay(Math.floorDiv(localTime, NANOS_PER_DAY)));
+         return;
+      }
+
+      long nanoOfDay = Math.floorMod(localTime, NANOS_PER_DAY);
+      appendTwoDigits(nanoOfDay / NANOS_PER_HOUR, output);
+      output.append(':');
+      appendTwoDigits(nanoOfDay / NANOS_PER_MINUTE % 60L, output);
+
+      if (unit % NANOS_PER_MINUTE == 0L)
+         return;
+
+      output.append(':');
+      appendTwoDigits(nanoOfDay / NANOS_PER_SECOND % 60L, output);
+
+      if (unit % NANOS_PER_SECOND == 0L)
+         return;
+
+      output.append('.');
+      long nanoOfSecond = nanoOfDay % NANOS_PER_SECOND;
+
+      // As many fraction digits as needed to tell the ticks apart.
+      for (long digit = NANOS_PER_SECOND / 10L;; digit /= 10L)
+      {
+         output.append((char) ('0' + nanoOfSecond / digit % 10L));
+         if (unit % digit == 0L)
+            break;
+      }
+   }
+
+   private static void appendTwoDigits(long value, StringBuilder output)
+   {
+      output.append((char) ('0' + value / 10L));
+      output.append((char) ('0' + value % 10L));
+   }
+
+   /**
+    * Gets the offset in nanoseconds of the zone of this axis at the given time.
+    */
+   private long getZoneOffset(long time)
+   {
+      ZoneId zone = getZone();
+
+      if (zone == null)
+         return 0L;
+
+      if (time >= zoneOffsetStart && time < zoneOffsetEnd)
+         return zoneOffset;
+
+      // Looked up again only when crossing a transition of the zone, e.g. for daylight saving time.
+      ZoneRules rules = zone.getRules();
+      Instant instant = Instant.ofEpochSecond(Math.floorDiv(time, NANOS_PER_SECOND));
+      ZoneOffset offset = rules.getOffset(instant);
+      ZoneOffsetTransition previous = rules.previousTransition(instant);
+      ZoneOffsetTransition next = rules.nextTransition(instant);
+
+      zoneOffset = TimeUnit.SECONDS.toNanos(offset.getTotalSeconds());
+      zoneOffsetStart = instant.getEpochSecond() * NANOS_PER_SECOND;
+      if (previous == null)
+         zoneOffsetStart = Long.MIN_VALUE;
+      else if (offset.equals(previous.getOffsetAfter()))
+         zoneOffsetStart = previous.getInstant().getEpochSecond() * NANOS_PER_SECOND;
+      zoneOffsetEnd = next == null ? Long.MAX_VALUE : next.getInstant().getEpochSecond() * NANOS_PER_SECOND;
+
+      return zoneOffset;
+   }
+
+   // --- baseTime
+   private final LongProperty baseTime = new SimpleLongProperty(this, "baseTime", 0L)
+   {
+      @Override
+      protected void invalidated()
+      {
+         invalidateTickLabels();
+      }
+   };
+
+   public final void setBaseTime(long value)
+   {
+      baseTime.set(value);
+   }
+
+   public final long getBaseTime()
+   {
+      return baseTime.get();
+   }
+
+   /**
+    * The timestamp in nanoseconds from which the values of this axis are measured, should be the
+    * {@link TimeSeries#getBaseTime() base time} of the series displayed. Default value is 0.
+    */
+   public final LongProperty baseTimeProperty()
+   {
+      return baseTime;
+   }
+
+   // --- zone
+   private final ObjectProperty<ZoneId> zone = new SimpleObjectProperty<ZoneId>(this, "zone", ZoneId.systemDefault())
+   {
+      @Override
+      protected void invalidated()
+      {
+         zoneOffsetStart = Long.MAX_VALUE;
+         zoneOffsetEnd = Long.MIN_VALUE;
+         invalidateTickLabels();
+      }
+   };
+
+   public final void setZone(ZoneId value)
+   {
+      zone.set(value);
+   }
+
+   public final ZoneId getZone()
+   {
+      return zone.get();
+   }
+
+   /**
+    * The time zone in which the tick labels are displayed, {@code null} to display the timestamps
+    * as is, e.g. for the time elapsed since the base time. Default value is the system default zone.
+    */
+   public final ObjectProperty<ZoneId> zoneProperty()
+   {
+      return zone;
+   }
+}
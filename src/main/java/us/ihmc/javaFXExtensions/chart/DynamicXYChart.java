@@ -1,15 +1,20 @@
 package us.ihmc.javaFXExtensions.chart;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.geometry.Insets;
 import javafx.scene.Group;
 import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.ValueAxis;
 import javafx.scene.layout.Region;
 import javafx.scene.shape.Rectangle;
 
 public abstract class DynamicXYChart extends DynamicChart
 {
-   private final NumberAxis xAxis;
-   private final NumberAxis yAxis;
+   private final ValueAxis<Number> xAxis;
+   private final ValueAxis<Number> yAxis;
 
    private final Region plotBackground = new Region();
    private final Group plotArea = new Group()
@@ -22,7 +27,33 @@ public abstract class DynamicXYChart extends DynamicChart
    protected final Group plotContent = new Group();
    private final Rectangle plotAreaClip = new Rectangle();
 
-   public DynamicXYChart(NumberAxis xAxis, NumberAxis yAxis)
+   /**
+    * Result of the last negotiation of the axis sizes, reused as long as the chart size and the axes
+    * are unchanged.
+    */
+   private boolean axisLayoutValid = false;
+   private double lastTop, lastLeft, lastWidth, lastHeight;
+   private double xAxisWidth, xAxisHeight, yAxisWidth, yAxisHeight;
+   /** Width the y-axis would have without the {@link #yAxisMinWidthProperty() minimum width}. */
+   private double yAxisNaturalWidth = 0.0;
+   /** Set while the axes are sized and laid out by this chart, their layout requests are then expected. */
+   private boolean layingOutAxes = false;
+   private final InvalidationListener axisLayoutInvalidator = observable ->
+   {
+      invalidateAxisLayout();
+      requestChartLayout();
+   };
+   /**
+    * An axis requests a layout when its range is invalidated or when its content changes, e.g. by
+    * {@link ValueAxis#invalidateRange(java.util.List)}, which may change its size.
+    */
+   private final ChangeListener<Boolean> axisNeedsLayoutListener = (o, oldValue, newValue) ->
+   {
+      if (newValue && !layingOutAxes)
+         axisLayoutInvalidator.invalidated(o);
+   };
+
+   public DynamicXYChart(ValueAxis<Number> xAxis, ValueAxis<Number> yAxis)
    {
       this.xAxis = xAxis;
       this.yAxis = yAxis;
@@ -44,25 +75,124 @@ public abstract class DynamicXYChart extends DynamicChart
       // mark plotContent as unmanaged as its preferred size changes do not effect our layout
       plotContent.setManaged(false);
       plotArea.setManaged(false);
+      // any change to the axes that can affect their size or tick labels invalidates the cached axis layout
+      addAxisLayoutListeners(xAxis);
+      addAxisLayoutListeners(yAxis);
+   }
+
+   private void addAxisLayoutListeners(ValueAxis<Number> axis)
+   {
+      axis.needsLayoutProperty().addListener(axisNeedsLayoutListener);
+      axis.lowerBoundProperty().addListener(axisLayoutInvalidator);
+      axis.upperBoundProperty().addListener(axisLayoutInvalidator);
+      axis.autoRangingProperty().addListener(axisLayoutInvalidator);
+      if (axis instanceof NumberAxis)
+      {
+         ((NumberAxis) axis).tickUnitProperty().addListener(axisLayoutInvalidator);
+         ((NumberAxis) axis).forceZeroInRangeProperty().addListener(axisLayoutInvalidator);
+      }
+      else if (axis instanceof DynamicNumberAxis)
+      {
+         ((DynamicNumberAxis) axis).tickUnitProperty().addListener(axisLayoutInvalidator);
+         ((DynamicNumberAxis) axis).forceZeroInRangeProperty().addListener(axisLayoutInvalidator);
+      }
+      axis.sideProperty().addListener(axisLayoutInvalidator);
+      axis.labelProperty().addListener(axisLayoutInvalidator);
+      axis.tickLabelFontProperty().addListener(axisLayoutInvalidator);
+      axis.tickLabelFormatterProperty().addListener(axisLayoutInvalidator);
+      axis.tickLabelsVisibleProperty().addListener(axisLayoutInvalidator);
+      axis.tickLabelRotationProperty().addListener(axisLayoutInvalidator);
+      axis.tickLabelGapProperty().addListener(axisLayoutInvalidator);
+      axis.tickLengthProperty().addListener(axisLayoutInvalidator);
+      axis.tickMarkVisibleProperty().addListener(axisLayoutInvalidator);
+      axis.visibleProperty().addListener(axisLayoutInvalidator);
+   }
+
+   /**
+    * Call this when something has changed that requires the axes to be sized and laid out again.
+    * <p>
+    * Changes to the axis properties that can affect their size, as well as the layout requests of the
+    * axes, e.g. after invalidating the range of an auto-ranging axis, are already handled by this
+    * class.
+    * </p>
+    */
+   protected void invalidateAxisLayout()
+   {
+      axisLayoutValid = false;
    }
 
    @Override
    protected void layoutChartChildren(double top, double left, double width, double height)
    {
+      DynamicChartMetrics metrics = getMetrics();
+      long pointsIngested = metrics.getPointsIngested();
+      Object event = DynamicChartLayoutRecorder.begin(this, DynamicChartLayoutRecorder.UPDATE_AXIS_RANGE);
+      long startTime = System.nanoTime();
       updateAxisRange();
+      long axisRangeTime = System.nanoTime();
+      metrics.reportUpdateAxisRangeTime(axisRangeTime - startTime);
+      DynamicChartLayoutRecorder.end(event, metrics.getPointsIngested() - pointsIngested, false);
 
       // snap top and left to pixels
       top = snapPosition(top);
       left = snapPosition(left);
+
+      boolean axisRelayout = !axisLayoutValid || top != lastTop || left != lastLeft || width != lastWidth || height != lastHeight;
+
+      if (axisRelayout)
+      {
+         event = DynamicChartLayoutRecorder.begin(this, DynamicChartLayoutRecorder.AXIS_LAYOUT);
+         layingOutAxes = true;
+         try
+         {
+            layoutAxes(top, left, width, height);
+         }
+         finally
+         {
+            layingOutAxes = false;
+         }
+         lastTop = top;
+         lastLeft = left;
+         lastWidth = width;
+         lastHeight = height;
+         axisLayoutValid = true;
+         DynamicChartLayoutRecorder.end(event, 0L, true);
+      }
+
+      long axisLayoutTime = System.nanoTime();
+      metrics.reportAxisLayoutTime(axisLayoutTime - axisRangeTime, axisRelayout);
+      left += yAxisWidth;
+
+      // layout plot content
+      event = DynamicChartLayoutRecorder.begin(this, DynamicChartLayoutRecorder.PLOT_LAYOUT);
+      layoutPlotChildren(top, left, xAxisWidth, yAxisHeight);
+      metrics.reportPlotLayoutTime(System.nanoTime() - axisLayoutTime);
+      DynamicChartLayoutRecorder.end(event, metrics.getPointsDrawn(), axisRelayout);
+      // layout plot background
+      plotBackground.resizeRelocate(left, top, xAxisWidth, yAxisHeight);
+      // update clip
+      plotAreaClip.setX(left);
+      plotAreaClip.setY(top);
+      plotAreaClip.setWidth(xAxisWidth + 1);
+      plotAreaClip.setHeight(yAxisHeight + 1);
+      // position plot group, its origin is the bottom left corner of the plot area
+      plotContent.setLayoutX(left);
+      plotContent.setLayoutY(top);
+      plotContent.requestLayout(); // Note: not sure this is right, maybe plotContent should be resizeable
+   }
+
+   private void layoutAxes(double top, double left, double width, double height)
+   {
       // try and work out width and height of axises
-      double xAxisWidth = 0;
-      double xAxisHeight = 30; // guess x axis height to start with
-      double yAxisWidth = 0;
-      double yAxisHeight = 0;
+      xAxisWidth = 0;
+      xAxisHeight = 30; // guess x axis height to start with
+      yAxisWidth = 0;
+      yAxisHeight = 0;
       for (int count = 0; count < 5; count++)
       {
          yAxisHeight = Math.max(0, snapSize(height - xAxisHeight));
-         yAxisWidth = yAxis.prefWidth(yAxisHeight);
+         yAxisNaturalWidth = yAxis.prefWidth(yAxisHeight);
+         yAxisWidth = Math.max(yAxisNaturalWidth, getYAxisMinWidth());
          xAxisWidth = Math.max(0, snapSize(width - yAxisWidth));
          double newXAxisHeight = xAxis.prefHeight(xAxisWidth);
          if (newXAxisHeight == xAxisHeight)
@@ -73,15 +203,15 @@ public abstract class DynamicXYChart extends DynamicChart
       xAxisWidth = Math.ceil(xAxisWidth);
       xAxisHeight = Math.ceil(xAxisHeight);
       yAxisWidth = Math.ceil(yAxisWidth);
+      yAxisNaturalWidth = Math.ceil(yAxisNaturalWidth);
       yAxisHeight = Math.ceil(yAxisHeight);
       // calc xAxis height
       double xAxisY = top + yAxisHeight;
       // calc yAxis width
       double yAxisX = left + 1;
-      left += yAxisWidth;
 
       // resize axises
-      xAxis.resizeRelocate(left, xAxisY, xAxisWidth, xAxisHeight);
+      xAxis.resizeRelocate(left + yAxisWidth, xAxisY, xAxisWidth, xAxisHeight);
       yAxis.resizeRelocate(yAxisX, top, yAxisWidth, yAxisHeight);
       // When the chart is resized, need to specifically call out the axises
       // to lay out as they are unmanaged.
@@ -89,19 +219,59 @@ public abstract class DynamicXYChart extends DynamicChart
       xAxis.layout();
       yAxis.requestAxisLayout();
       yAxis.layout();
-      // layout plot content
-      layoutPlotChildren(top, left, xAxisWidth, yAxisHeight);
-      // layout plot background
-      plotBackground.resizeRelocate(left, top, xAxisWidth, yAxisHeight);
-      // update clip
-      plotAreaClip.setX(left);
-      plotAreaClip.setY(top);
-      plotAreaClip.setWidth(xAxisWidth + 1);
-      plotAreaClip.setHeight(yAxisHeight + 1);
-      // position plot group, its origin is the bottom left corner of the plot area
-      plotContent.setLayoutX(left);
-      plotContent.setLayoutY(top);
-      plotContent.requestLayout(); // Note: not sure this is right, maybe plotContent should be resizeable
+   }
+
+   /**
+    * @return the width of the y-axis as it was last negotiated, ignoring the minimum width.
+    */
+   double getYAxisNaturalWidth()
+   {
+      return yAxisNaturalWidth;
+   }
+
+   // --- yAxisMinWidth
+   private final DoubleProperty yAxisMinWidth = new SimpleDoubleProperty(this, "yAxisMinWidth", 0.0)
+   {
+      @Override
+      protected void invalidated()
+      {
+         invalidateAxisLayout();
+         requestChartLayout();
+      }
+   };
+
+   public final void setYAxisMinWidth(double value)
+   {
+      yAxisMinWidth.set(value);
+   }
+
+   public final double getYAxisMinWidth()
+   {
+      return yAxisMinWidth.get();
+   }
+
+   /**
+    * The minimum width of the y-axis, useful to align the plot areas of charts stacked vertically.
+    */
+   public final DoubleProperty yAxisMinWidthProperty()
+   {
+      return yAxisMinWidth;
+   }
+
+   /**
+    * @return the axis used for the x-coordinates.
+    */
+   protected final ValueAxis<Number> getXAxis()
+   {
+      return xAxis;
+   }
+
+   /**
+    * @return the axis used for the y-coordinates.
+    */
+   protected final ValueAxis<Number> getYAxis()
+   {
+      return yAxis;
    }
 
    /**
@@ -0,0 +1,213 @@
+package us.ihmc.javaFXExtensions.chart;
+
+/**
+ * Multi-resolution summary of a series used to plot a large number of samples without iterating
+ * over all of them.
+ * <p>
+ * The samples are grouped in buckets of {@code 2^level} consecutive samples for every level in
+ * [{@link #getMinLevel()}, {@link #getMaxLevel()}]. For each bucket the bounds of the
+ * x-coordinates, the bounds of the y-coordinates, and the mean of the y-coordinates are kept. The
+ * index is built incrementally as samples are added, at the cost of one update per level. When
+ * plotting, the level is chosen such that the number of buckets in the visible range is close to
+ * the plot width, see {@link #selectLevel(int, double)}.
+ * </p>
+ * <p>
+ * Samples are identified by their sequence number, see {@link DynamicSeries#getSequence(int)}, and
+ * the index keeps the buckets covering the last {@code capacity} samples.
+ * </p>
+ */
+public final class LevelOfDetailIndex
+{
+   /** Level of the finest buckets, coarser levels are not worth storing. */
+   private static final int MIN_LEVEL = 4;
+   /** Number of samples per pixel above which the index is used instead of the raw samples. */
+   private static final int RAW_SAMPLES_PER_PIXEL = 16;
+
+   private final int maxLevel;
+   private final int[] masks;
+   private final double[][] minX, maxX, minY, maxY, sumY;
+
+   private long firstSequence = Long.MIN_VALUE;
+   private long lastSequence = Long.MIN_VALUE;
+
+   /**
+    * Creates a new index.
+    *
+    * @param capacity the number of most recent samples to be covered by the index.
+    */
+   public LevelOfDetailIndex(int capacity)
+   {
+      if (capacity <= 0)
+         throw new IllegalArgumentException("Invalid capacity: " + capacity);
+
+      int level = MIN_LEVEL;
+      while ((1L << level) < capacity)
+         level++;
+      maxLevel = level;
+
+      int numberOfLevels = maxLevel - MIN_LEVEL + 1;
+      masks = new int[numberOfLevels];
+      minX = new double[numberOfLevels][];
+      maxX = new double[numberOfLevels][];
+      minY = new double[numberOfLevels][];
+      maxY = new double[numberOfLevels][];
+      sumY = new double[numberOfLevels][];
+
+      for (int i = 0; i < numberOfLevels; i++)
+      {
+         // Spare buckets for the partially filled buckets at both ends of the covered range.
+         int bucketCount = Integer.highestOneBit(((capacity - 1) >> (MIN_LEVEL + i)) + 2) << 1;
+         masks[i] = bucketCount - 1;
+         minX[i] = new double[bucketCount];
+         maxX[i] = new double[bucketCount];
+         minY[i] = new double[bucketCount];
+         maxY[i] = new double[bucketCount];
+         sumY[i] = new double[bucketCount];
+      }
+   }
+
+   /**
+    * Adds a sample to the index.
+    *
+    * @param sequence the sequence number of the sample, should follow the one of the previous sample.
+    * @param x        the x-coordinate of the sample.
+    * @param y        the y-coordinate of the sample.
+    */
+   public void add(long sequence, double x, double y)
+   {
+      if (firstSequence == Long.MIN_VALUE || sequence != lastSequence + 1)
+         firstSequence = sequence;
+      lastSequence = sequence;
+
+      boolean isYValid = !Double.isNaN(y);
+
+      for (int i = 0; i < masks.length; i++)
+      {
+         int level = MIN_LEVEL + i;
+         long bucket = sequence >> level;
+         int index = (int) (bucket & masks[i]);
+
+         if ((bucket << level) == sequence || sequence == firstSequence)
+         {
+            minX[i][index] = x;
+            maxX[i][index] = x;
+            minY[i][index] = isYValid ? y : Double.POSITIVE_INFINITY;
+            maxY[i][index] = isYValid ? y : Double.NEGATIVE_INFINITY;
+            sumY[i][index] = isYValid ? y : 0.0;
+         }
+         else
+         {
+            if (x < minX[i][index])
+               minX[i][index] = x;
+            if (x > maxX[i][index])
+               maxX[i][index] = x;
+
+            if (isYValid)
+            {
+               if (y < minY[i][index])
+                  minY[i][index] = y;
+               if (y > maxY[i][index])
+                  maxY[i][index] = y;
+               sumY[i][index] += y;
+            }
+         }
+      }
+   }
+
+   /**
+    * Discards the content of this index.
+    */
+   public void clear()
+   {
+      firstSequence = Long.MIN_VALUE;
+      lastSequence = Long.MIN_VALUE;
+   }
+
+   /**
+    * Selects the level to use to plot the given number of samples.
+    *
+    * @param sampleCount the number of samples to plot.
+    * @param width       the width in pixels of the plot area.
+    * @return the level to use, or {@code -1} if there are few enough samples to plot them directly.
+    */
+   public int selectLevel(int sampleCount, double width)
+   {
+      double samplesPerPixel = sampleCount / Math.max(width, 1.0);
+
+      if (samplesPerPixel <= RAW_SAMPLES_PER_PIXEL)
+         return -1;
+
+      // Coarsest level that still provides at least one bucket per pixel.
+      int level = 31 - Integer.numberOfLeadingZeros((int) samplesPerPixel);
+      return Math.max(MIN_LEVEL, Math.min(level, maxLevel));
+   }
+
+   /**
+    * @return the level of the finest buckets.
+    */
+   public int getMinLevel()
+   {
+      return MIN_LEVEL;
+   }
+
+   /**
+    * @return the level of the coarsest buckets.
+    */
+   public int getMaxLevel()
+   {
+      return maxLevel;
+   }
+
+   /**
+    * @param level    the level of the bucket.
+    * @param sequence the sequence number of a sample.
+    * @return the bucket at the given level that contains the sample.
+    */
+   public long getBucket(int level, long sequence)
+   {
+      return sequence >> level;
+   }
+
+   public double getMinX(int level, long bucket)
+   {
+      return minX[level - MIN_LEVEL][index(level, bucket)];
+   }
+
+   public double getMaxX(int level, long bucket)
+   {
+      return maxX[level - MIN_LEVEL][index(level, bucket)];
+   }
+
+   /**
+    * @return the minimum y-coordinate of the bucket, or {@link Double#POSITIVE_INFINITY} if the
+    *         bucket has no valid y-coordinate.
+    */
+   public double getMinY(int level, long bucket)
+   {
+      return minY[level - MIN_LEVEL][index(level, bucket)];
+   }
+
+   /**
+    * @return the maximum y-coordinate of the bucket, or {@link Double#NEGATIVE_INFINITY} if the
+    *         bucket has no valid y-coordinate.
+    */
+   public double getMaxY(int level, long bucket)
+   {
+      return maxY[level - MIN_LEVEL][index(level, bucket)];
+   }
+
+   /**
+    * @return the mean of the y-coordinates of the bucket, NaN values being counted as zeros.
+    */
+   public double getMeanY(int level, long bucket)
+   {
+      long start = Math.max(bucket << level, firstSequence);
+      long end = Math.min((bucket + 1) << level, lastSequence + 1);
+      return sumY[level - MIN_LEVEL][index(level, bucket)] / Math.max(1L, end - start);
+   }
+
+   private int index(int level, long bucket)
+   {
+      return (int) (bucket & masks[level - MIN_LEVEL]);
+   }
+}
@@ -0,0 +1,270 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Read-only series which samples are read directly from a file mapped in memory.
+ * <p>
+ * The file should contain a column of x-coordinates and a column of y-coordinates, each stored as
+ * contiguous doubles. The samples are not loaded in the heap, the operating system pages the file
+ * in as the chart reads the visible range, so opening a log is immediate and the heap usage does
+ * not depend on the size of the file. The x-coordinates have to be sorted in ascending order, which
+ * allows the chart to only read the visible samples.
+ * </p>
+ */
+public class MemoryMappedSeries extends DynamicSeries
+{
+   /** Each mapping covers 2^27 doubles, i.e. 1GB, below the 2GB limit of a single mapping. */
+   private static final int CHUNK_SHIFT = 27;
+   private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+   /** Number of samples read to estimate the bounds of the y-coordinates while they are computed. */
+   private static final int ESTIMATE_SAMPLE_COUNT = 4096;
+
+   private final int size;
+   private final DoubleBuffer[] xChunks;
+   private final DoubleBuffer[] yChunks;
+
+   // Exact bounds, computed once in the background and published through yBoundsComputed.
+   private double minY = Double.POSITIVE_INFINITY;
+   private double maxY = Double.NEGATIVE_INFINITY;
+   private volatile boolean yBoundsComputed = false;
+   // Only accessed from the JavaFX Application Thread.
+   private boolean yBoundsRequested = false;
+   private boolean yBoundsUpdated = false;
+   private double estimatedMinY = Double.POSITIVE_INFINITY;
+   private double estimatedMaxY = Double.NEGATIVE_INFINITY;
+
+   private volatile LevelOfDetailIndex levelOfDetail = null;
+
+   /**
+    * Creates a new series by mapping the given file.
+    *
+    * @param name            the name of this series.
+    * @param path            the file containing the samples.
+    * @param xColumnPosition the position in bytes in the file of the first x-coordinate.
+    * @param yColumnPosition the position in bytes in the file of the first y-coordinate.
+    * @param size            the number of samples.
+    * @param byteOrder       the byte order used to store the doubles in the file.
+    * @throws IOException if the file cannot be opened or is too short.
+    */
+   public MemoryMappedSeries(String name, Path path, long xColumnPosition, long yColumnPosition, int size, ByteOrder byteOrder) throws IOException
+   {
+      super(name);
+
+      if (size < 0)
+         throw new IllegalArgumentException("Invalid size: " + size);
+
+      this.size = size;
+
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+      {
+         long requiredSize = Math.max(xColumnPosition, yColumnPosition) + (long) size * Double.BYTES;
+         if (channel.size() < requiredSize)
+            throw new IOException("The file " + path + " is too short: " + channel.size() + " bytes, expected at least " + requiredSize);
+
+         // The mappings remain valid after the channel is closed.
+         xChunks = mapColumn(channel, xColumnPosition, size, byteOrder);
+         yChunks = mapColumn(channel, yColumnPosition, size, byteOrder);
+      }
+   }
+
+   private static DoubleBuffer[] mapColumn(FileChannel channel, long position, int size, ByteOrder byteOrder) throws IOException
+   {
+      int numberOfChunks = (int) (((long) size + CHUNK_MASK) >> CHUNK_SHIFT);
+      DoubleBuffer[] chunks = new DoubleBuffer[numberOfChunks];
+
+      for (int i = 0; i < numberOfChunks; i++)
+      {
+         long chunkStart = (long) i << CHUNK_SHIFT;
+         long chunkLength = Math.min(size - chunkStart, 1L << CHUNK_SHIFT);
+         chunks[i] = channel.map(MapMode.READ_ONLY, position + chunkStart * Double.BYTES, chunkLength * Double.BYTES).order(byteOrder).asDoubleBuffer();
+      }
+      return chunks;
+   }
+
+   /**
+    * Reads the whole file to build a {@link LevelOfDetailIndex}, allowing to zoom out over the entire
+    * series without reading every sample on every frame.
+    * <p>
+    * This reads the entire file and can take a while for large files, it can be called from a
+    * background thread as long as it is before the series is added to a chart. The bounds of the
+    * y-coordinates are computed at the same time.
+    * </p>
+    */
+   public void enableLevelOfDetail()
+   {
+      if (levelOfDetail != null || size == 0)
+         return;
+
+      LevelOfDetailIndex index = new LevelOfDetailIndex(size);
+      double min = Double.POSITIVE_INFINITY;
+      double max = Double.NEGATIVE_INFINITY;
+
+      for (int i = 0; i < size; i++)
+      {
+         double y = getY(i);
+         index.add(i, getX(i), y);
+         if (y < min)
+            min = y;
+         if (y > max)
+            max = y;
+      }
+
+      minY = min;
+      maxY = max;
+      yBoundsComputed = true;
+      levelOfDetail = index;
+   }
+
+   /**
+    * @return {@code true} once the bounds of the y-coordinates computed in the background are ready
+    *         to be used by the chart.
+    */
+   @Override
+   public boolean hasPendingData()
+   {
+      return yBoundsComputed && !yBoundsUpdated;
+   }
+
+   @Override
+   public boolean update()
+   {
+      if (!hasPendingData())
+         return false;
+
+      // The exact bounds replace the estimate.
+      yBoundsUpdated = true;
+      return true;
+   }
+
+   @Override
+   public LevelOfDetailIndex getLevelOfDetail()
+   {
+      return levelOfDetail;
+   }
+
+   @Override
+   public boolean isSortedByX()
+   {
+      return true;
+   }
+
+   @Override
+   public double getMinX()
+   {
+      return size > 0 ? getX(0) : Double.POSITIVE_INFINITY;
+   }
+
+   @Override
+   public double getMaxX()
+   {
+      return size > 0 ? getX(size - 1) : Double.NEGATIVE_INFINITY;
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * The bounds of the y-coordinates are computed once in the background, reading the entire file,
+    * unless {@link #enableLevelOfDetail()} was called in which case they were computed then. Until
+    * then, the bounds are estimated from a subset of the samples.
+    * </p>
+    */
+   @Override
+   public double getMinY()
+   {
+      computeYBounds();
+      return yBoundsComputed ? minY : estimatedMinY;
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * The bounds of the y-coordinates are computed once in the background, reading the entire file,
+    * unless {@link #enableLevelOfDetail()} was called in which case they were computed then. Until
+    * then, the bounds are estimated from a subset of the samples.
+    * </p>
+    */
+   @Override
+   public double getMaxY()
+   {
+      computeYBounds();
+      return yBoundsComputed ? maxY : estimatedMaxY;
+   }
+
+   private void computeYBounds()
+   {
+      if (yBoundsComputed || yBoundsRequested)
+         return;
+
+      yBoundsRequested = true;
+
+      // Evenly spread samples, such that the estimate covers the whole range of the series.
+      int stride = Math.max(1, size / ESTIMATE_SAMPLE_COUNT);
+
+      for (int i = 0; i < size; i += stride)
+      {
+         double y = getY(i);
+         if (y < estimatedMinY)
+            estimatedMinY = y;
+         if (y > estimatedMaxY)
+            estimatedMaxY = y;
+      }
+
+      // Buffers are not thread-safe, the background task reads through its own views of the mappings.
+      DoubleBuffer[] chunks = new DoubleBuffer[yChunks.length];
+      for (int i = 0; i < chunks.length; i++)
+      {
+         chunks[i] = yChunks[i].duplicate();
+      }
+
+      ForkJoinPool.commonPool().execute(() ->
+      {
+         double min = Double.POSITIVE_INFINITY;
+         double max = Double.NEGATIVE_INFINITY;
+
+         for (DoubleBuffer chunk : chunks)
+         {
+            for (int i = 0; i < chunk.limit(); i++)
+            {
+               double y = chunk.get(i);
+               if (y < min)
+                  min = y;
+               if (y > max)
+                  max = y;
+            }
+         }
+
+         if (yBoundsComputed)
+            return; // Computed meanwhile by enableLevelOfDetail().
+
+         minY = min;
+         maxY = max;
+         yBoundsComputed = true;
+      });
+   }
+
+   @Override
+   public int size()
+   {
+      return size;
+   }
+
+   @Override
+   public double getX(int index)
+   {
+      return xChunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+   }
+
+   @Override
+   public double getY(int index)
+   {
+      return yChunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+   }
+}
@@ -0,0 +1,123 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.SimpleLongProperty;
+
+/**
+ * Memory budget shared by all the {@link CompressedHistorySeries} of the application.
+ * <p>
+ * Whenever the compressed history of all the series together exceeds the
+ * {@link #budgetProperty() budget}, the oldest blocks of the series which history was the least
+ * recently viewed are discarded until the memory used is back within the budget.
+ * </p>
+ * <p>
+ * This class is meant to be used from the JavaFX Application Thread only.
+ * </p>
+ */
+public final class SeriesMemoryBudget
+{
+   private static final SeriesMemoryBudget INSTANCE = new SeriesMemoryBudget();
+
+   private final List<WeakReference<CompressedHistorySeries>> registeredSeries = new ArrayList<>();
+
+   /**
+    * @return the budget shared by all the series.
+    */
+   public static SeriesMemoryBudget getInstance()
+   {
+      return INSTANCE;
+   }
+
+   private SeriesMemoryBudget()
+   {
+   }
+
+   void register(CompressedHistorySeries series)
+   {
+      registeredSeries.add(new WeakReference<>(series));
+   }
+
+   /**
+    * Computes the memory currently used by the compressed history of all the series.
+    *
+    * @return the memory used in bytes.
+    */
+   public long getUsedMemory()
+   {
+      long usedMemory = 0L;
+
+      for (int i = registeredSeries.size() - 1; i >= 0; i--)
+      {
+         CompressedHistorySeries series = registeredSeries.get(i).get();
+
+         if (series == null)
+            registeredSeries.remove(i);
+         else
+            usedMemory += series.getCompressedMemoryUsage();
+      }
+
+      return usedMemory;
+   }
+
+   /**
+    * Discards the least recently viewed history until the memory used is within the budget.
+    */
+   void enforce()
+   {
+      long usedMemory = getUsedMemory();
+      long budget = getBudget();
+
+      while (usedMemory > budget)
+      {
+         CompressedHistorySeries leastRecentlyViewed = null;
+
+         for (int i = 0; i < registeredSeries.size(); i++)
+         {
+            CompressedHistorySeries series = registeredSeries.get(i).get();
+
+            if (series == null || series.getCompressedMemoryUsage() == 0L)
+               continue;
+            if (leastRecentlyViewed == null || series.getLastViewedTime() < leastRecentlyViewed.getLastViewedTime())
+               leastRecentlyViewed = series;
+         }
+
+         if (leastRecentlyViewed == null)
+            return;
+
+         usedMemory -= leastRecentlyViewed.discardOldestBlock();
+      }
+   }
+
+   // --- budget
+   private final LongProperty budget = new SimpleLongProperty(this, "budget", 256L * 1024L * 1024L)
+   {
+      @Override
+      protected void invalidated()
+      {
+         enforce();
+      }
+   };
+
+   public final void setBudget(long value)
+   {
+      budget.set(value);
+   }
+
+   public final long getBudget()
+   {
+      return budget.get();
+   }
+
+   /**
+    * The maximum memory in bytes the compressed history of all the series can use. Default value is
+    * 256MB.
+    */
+   public final LongProperty budgetProperty()
+   {
+      return budget;
+   }
+}
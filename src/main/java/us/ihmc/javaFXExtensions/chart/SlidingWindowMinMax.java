@@ -0,0 +1,106 @@
+package us.ihmc.javaFXExtensions.chart;
+
+/**
+ * Tracks the minimum and maximum of a sliding window of values in amortized constant time per
+ * value.
+ * <p>
+ * Values are identified by a sequence number that increases by at least one for each value added.
+ * Two monotonic deques are maintained: when a value is added, all the values that can no longer be
+ * the minimum, respectively maximum, of the window are discarded. The extrema are then always at the
+ * front of the deques. The deques are backed by preallocated primitive arrays, so tracking does not
+ * allocate.
+ * </p>
+ */
+final class SlidingWindowMinMax
+{
+   private final int mask;
+
+   private final long[] minSequences;
+   private final double[] minValues;
+   private long minHead = 0L;
+   private long minTail = 0L;
+
+   private final long[] maxSequences;
+   private final double[] maxValues;
+   private long maxHead = 0L;
+   private long maxTail = 0L;
+
+   /**
+    * Creates a new tracker.
+    *
+    * @param capacity the maximum number of values in the window, must be a power of two.
+    */
+   SlidingWindowMinMax(int capacity)
+   {
+      if (Integer.bitCount(capacity) != 1)
+         throw new IllegalArgumentException("The capacity should be a power of two, was: " + capacity);
+
+      mask = capacity - 1;
+      minSequences = new long[capacity];
+      minValues = new double[capacity];
+      maxSequences = new long[capacity];
+      maxValues = new double[capacity];
+   }
+
+   /**
+    * Adds a value to the window. NaN values are ignored.
+    *
+    * @param sequence the sequence number of the value, greater than any previous sequence number.
+    * @param value    the value to add.
+    */
+   void add(long sequence, double value)
+   {
+      if (Double.isNaN(value))
+         return;
+
+      while (minTail > minHead && minValues[(int) ((minTail - 1) & mask)] >= value)
+         minTail--;
+      minSequences[(int) (minTail & mask)] = sequence;
+      minValues[(int) (minTail & mask)] = value;
+      minTail++;
+
+      while (maxTail > maxHead && maxValues[(int) ((maxTail - 1) & mask)] <= value)
+         maxTail--;
+      maxSequences[(int) (maxTail & mask)] = sequence;
+      maxValues[(int) (maxTail & mask)] = value;
+      maxTail++;
+   }
+
+   /**
+    * Removes from the window the values with a sequence number lower than the given one.
+    *
+    * @param sequence the sequence number of the oldest value to keep.
+    */
+   void removeOlderThan(long sequence)
+   {
+      while (minTail > minHead && minSequences[(int) (minHead & mask)] < sequence)
+         minHead++;
+      while (maxTail > maxHead && maxSequences[(int) (maxHead & mask)] < sequence)
+         maxHead++;
+   }
+
+   /**
+    * Removes all the values from the window.
+    */
+   void clear()
+   {
+      minHead = minTail;
+      maxHead = maxTail;
+   }
+
+   /**
+    * @return the minimum of the window, or {@link Double#POSITIVE_INFINITY} if the window is empty.
+    */
+   double getMin()
+   {
+      return minTail > minHead ? minValues[(int) (minHead & mask)] : Double.POSITIVE_INFINITY;
+   }
+
+   /**
+    * @return the maximum of the window, or {@link Double#NEGATIVE_INFINITY} if the window is empty.
+    */
+   double getMax()
+   {
+      return maxTail > maxHead ? maxValues[(int) (maxHead & mask)] : Double.NEGATIVE_INFINITY;
+   }
+}
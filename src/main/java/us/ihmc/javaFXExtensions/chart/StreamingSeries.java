@@ -0,0 +1,258 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Series fed by a reactive stream of items, following the semantics of a
+ * {@code java.util.concurrent.Flow.Subscriber}.
+ * <p>
+ * The items are converted into samples as they are received and are made visible to the chart once
+ * per pulse, nothing is ever submitted to {@code Platform.runLater}. How a producer that is faster
+ * than the display is handled depends on the {@link BackpressurePolicy}, none of the policies lets
+ * a queue grow unbounded.
+ * </p>
+ * <p>
+ * This class does not depend on the {@code Flow} API so it can be used with Java 8, on Java 9+ a
+ * {@code Flow.Subscriber} is obtained by forwarding the calls:
+ *
+ * <pre>
+ * public void onSubscribe(Flow.Subscription subscription)
+ * {
+ *    series.onSubscribe(subscription::request, subscription::cancel);
+ * }
+ * </pre>
+ * </p>
+ *
+ * @param <T> the type of the items received.
+ */
+public class StreamingSeries<T> extends DoubleRingBufferSeries
+{
+   /**
+    * Strategies available to deal with a producer that is faster than the display.
+    */
+   public enum BackpressurePolicy
+   {
+      /**
+       * Unbounded demand is requested and all the items are appended to the series, which discards
+       * its oldest samples when the producer gets ahead by more than the capacity.
+       */
+      DROP_OLDEST,
+      /**
+       * Unbounded demand is requested but only the most recent item received at the time of a pulse
+       * is appended to the series, the others are discarded.
+       */
+      LATEST_ONLY,
+      /**
+       * The demand is limited to the capacity of the series and is only renewed as the chart
+       * consumes the samples, such that no item is ever discarded. A producer that honors the
+       * demand is slowed down to the rate of the display.
+       */
+      BOUNDED
+   }
+
+   private final ToDoubleFunction<? super T> xFunction;
+   private final ToDoubleFunction<? super T> yFunction;
+   private final BackpressurePolicy policy;
+
+   private volatile LongConsumer request = null;
+   private volatile Runnable cancel = null;
+   private volatile boolean terminated = false;
+   private volatile Throwable error = null;
+
+   /**
+    * Demand requested so far when bounded. Initialized by {@link #onSubscribe(LongConsumer, Runnable)}
+    * before {@link #request} is published, then only accessed from the JavaFX Application Thread.
+    */
+   private long requestedCount = 0L;
+
+   // Latest item received when using LATEST_ONLY, published with a sequence lock.
+   private final AtomicLong latestVersion = new AtomicLong(0L);
+   private volatile double latestX, latestY;
+   private long consumedVersion = 0L;
+
+   /**
+    * Creates a new series.
+    *
+    * @param name      the name of this series.
+    * @param capacity  the maximum number of samples this series holds.
+    * @param xFunction the function to extract the x-coordinate of an item.
+    * @param yFunction the function to extract the y-coordinate of an item.
+    * @param policy    the strategy to deal with a producer faster than the display.
+    */
+   public StreamingSeries(String name, int capacity, ToDoubleFunction<? super T> xFunction, ToDoubleFunction<? super T> yFunction,
+                          BackpressurePolicy policy)
+   {
+      super(name, capacity);
+      this.xFunction = xFunction;
+      this.yFunction = yFunction;
+      this.policy = policy;
+   }
+
+   /**
+    * Called once when subscribing to a publisher, see
+    * {@code Flow.Subscriber.onSubscribe(Flow.Subscription)}.
+    *
+    * @param request the function to call to request more items from the publisher.
+    * @param cancel  the function to call to cancel the subscription.
+    */
+   public void onSubscribe(LongConsumer request, Runnable cancel)
+   {
+      if (this.request != null)
+      {
+         // Only one subscription at a time.
+         cancel.run();
+         return;
+      }
+
+      this.cancel = cancel;
+
+      if (policy == BackpressurePolicy.BOUNDED)
+      {
+         long initialDemand = getCapacity();
+         requestedCount = initialDemand;
+         // The volatile write publishes requestedCount to the JavaFX Application Thread.
+         this.request = request;
+         request.accept(initialDemand);
+      }
+      else
+      {
+         this.request = request;
+         request.accept(Long.MAX_VALUE);
+      }
+   }
+
+   /**
+    * Called for every item received, see {@code Flow.Subscriber.onNext(Object)}.
+    *
+    * @param item the new item.
+    */
+   public void onNext(T item)
+   {
+      double x = xFunction.applyAsDouble(item);
+      double y = yFunction.applyAsDouble(item);
+
+      if (policy == BackpressurePolicy.LATEST_ONLY)
+      {
+         // Odd version while writing so the reader can detect a torn sample.
+         latestVersion.incrementAndGet();
+         latestX = x;
+         latestY = y;
+         latestVersion.incrementAndGet();
+      }
+      else
+      {
+         append(x, y);
+      }
+   }
+
+   /**
+    * Called when the publisher fails, see {@code Flow.Subscriber.onError(Throwable)}.
+    *
+    * @param throwable the cause of the failure.
+    */
+   public void onError(Throwable throwable)
+   {
+      error = throwable;
+      terminated = true;
+   }
+
+   /**
+    * Called when the publisher has no more items, see {@code Flow.Subscriber.onComplete()}.
+    */
+   public void onComplete()
+   {
+      terminated = true;
+   }
+
+   /**
+    * Cancels the current subscription, if any.
+    */
+   public void cancel()
+   {
+      Runnable cancel = this.cancel;
+      if (cancel != null && !terminated)
+         cancel.run();
+      terminated = true;
+   }
+
+   @Override
+   public boolean hasPendingData()
+   {
+      if (policy == BackpressurePolicy.LATEST_ONLY && latestVersion.get() != consumedVersion)
+         return true;
+      return super.hasPendingData();
+   }
+
+   @Override
+   public boolean update()
+   {
+      if (policy == BackpressurePolicy.LATEST_ONLY)
+      {
+         long version = latestVersion.get();
+
+         if (version != consumedVersion && (version & 1L) == 0L)
+         {
+            double x = latestX;
+            double y = latestY;
+
+            // Otherwise the sample was being overwritten, it is picked up on the next pulse.
+            if (latestVersion.get() == version)
+            {
+               // In this mode, the JavaFX Application Thread is the only producer of the ring buffer.
+               append(x, y);
+               consumedVersion = version;
+            }
+         }
+
+         return super.update();
+      }
+
+      // All the samples received before draining the staging buffer are consumed by super.update().
+      long consumedCount = getAppendedCount();
+      boolean hasChanged = super.update();
+
+      // Reading the request first makes the initial demand visible, null until subscribed.
+      LongConsumer request = this.request;
+
+      if (policy == BackpressurePolicy.BOUNDED && request != null && !terminated)
+      {
+         // Renew the demand in batches to limit the number of calls to the publisher.
+         long outstanding = requestedCount - consumedCount;
+         long renewal = getCapacity() - outstanding;
+
+         if (renewal >= getCapacity() / 2 && renewal > 0)
+         {
+            requestedCount += renewal;
+            request.accept(renewal);
+         }
+      }
+
+      return hasChanged;
+   }
+
+   /**
+    * @return {@code true} if the subscription was completed, failed, or cancelled.
+    */
+   public boolean isTerminated()
+   {
+      return terminated;
+   }
+
+   /**
+    * @return the cause of the failure of the publisher, or {@code null} if it has not failed.
+    */
+   public Throwable getError()
+   {
+      return error;
+   }
+
+   /**
+    * @return the strategy used to deal with a producer faster than the display.
+    */
+   public BackpressurePolicy getPolicy()
+   {
+      return policy;
+   }
+}
@@ -0,0 +1,103 @@
+package us.ihmc.javaFXExtensions.chart;
+
+/**
+ * Formats tick label values into a reused {@link StringBuilder} without allocating, as opposed to
+ * {@link java.text.DecimalFormat} or {@link String#format(String, Object...)}.
+ */
+final class TickLabelFormat
+{
+   /** Beyond this number of fraction digits, the value cannot be represented as a scaled long. */
+   static final int MAX_FRACTION_DIGITS = 15;
+   private static final long[] POWERS_OF_TEN = new long[MAX_FRACTION_DIGITS + 1];
+   /** Above this magnitude, the scaled value may overflow a long and the value is formatted with Double.toString. */
+   private static final double MAX_SCALED_VALUE = 1.0e17;
+
+   static
+   {
+      POWERS_OF_TEN[0] = 1L;
+      for (int i = 1; i < POWERS_OF_TEN.length; i++)
+      {
+         POWERS_OF_TEN[i] = 10L * POWERS_OF_TEN[i - 1];
+      }
+   }
+
+   private TickLabelFormat()
+   {
+   }
+
+   /**
+    * Computes the number of fraction digits needed to represent all the multiples of the given tick
+    * unit, e.g. 0 for 5, 1 for 2.5, and 2 for 0.25.
+    *
+    * @param tickUnit the distance between two consecutive ticks.
+    * @return the number of fraction digits, in [0, {@link #MAX_FRACTION_DIGITS}].
+    */
+   static int fractionDigits(double tickUnit)
+   {
+      tickUnit = Math.abs(tickUnit);
+
+      if (!(tickUnit > 0.0) || Double.isInfinite(tickUnit))
+         return 0;
+
+      for (int digits = 0; digits < MAX_FRACTION_DIGITS; digits++)
+      {
+         double scaled = tickUnit * POWERS_OF_TEN[digits];
+         if (Math.abs(scaled - Math.rint(scaled)) <= 1.0e-9 * scaled)
+            return digits;
+      }
+      return MAX_FRACTION_DIGITS;
+   }
+
+   /**
+    * Appends the decimal representation of a value rounded to the given number of fraction digits.
+    *
+    * @param value          the value to format.
+    * @param fractionDigits the number of digits after the decimal point.
+    * @param output         the builder to append the representation to.
+    */
+   static void format(double value, int fractionDigits, StringBuilder output)
+   {
+      fractionDigits = Math.max(0, Math.min(fractionDigits, MAX_FRACTION_DIGITS));
+      double scaledValue = value * POWERS_OF_TEN[fractionDigits];
+
+      if (Double.isNaN(scaledValue) || Math.abs(scaledValue) >= MAX_SCALED_VALUE)
+      {
+         // Rare enough for the allocation not to matter.
+         output.append(value);
+         return;
+      }
+
+      long scaled = Math.round(scaledValue);
+
+      // Avoids "-0" for values rounding to zero.
+      if (scaled < 0L)
+      {
+         output.append('-');
+         scaled = -scaled;
+      }
+
+      long power = POWERS_OF_TEN[fractionDigits];
+      output.append(scaled / power);
+
+      if (fractionDigits > 0)
+      {
+         output.append('.');
+         long fraction = scaled % power;
+
+         for (long digit = power / 10L; digit > fraction && digit > 1L; digit /= 10L)
+         {
+            output.append('0');
+         }
+         output.append(fraction);
+      }
+   }
+
+   /**
+    * Tests whether a string has the same content as a character sequence without creating a new
+    * string.
+    */
+   static boolean contentEquals(String text, CharSequence sequence)
+   {
+      return text != null && text.contentEquals(sequence);
+   }
+}
@@ -0,0 +1,118 @@
+package us.ihmc.javaFXExtensions.chart;
+
+/**
+ * Series which x-coordinates are timestamps in nanoseconds, meant to be displayed with a
+ * {@link DynamicTimeAxis} of the same {@link #getBaseTime() base time}.
+ * <p>
+ * Nanosecond timestamps, e.g. since the epoch, cannot be represented exactly by a {@code double}.
+ * This series stores instead the offset of each timestamp from a base time, which is exact for
+ * timestamps within about 104 days (2<sup>53</sup> ns) of the base time. The offset is computed once
+ * when the sample is appended, the chart then plots the offsets directly.
+ * </p>
+ * <p>
+ * The same threading rules as for {@link DoubleRingBufferSeries} apply.
+ * </p>
+ */
+public class TimeSeries extends DoubleRingBufferSeries
+{
+   private final long baseTime;
+   // Buffer for converting batches of timestamps, grown up to the capacity and only accessed by the
+   // producer thread.
+   private double[] batchX = null;
+
+   /**
+    * Creates a new series.
+    *
+    * @param name     the name of this series.
+    * @param capacity the maximum number of samples this series holds.
+    * @param baseTime the timestamp in nanoseconds from which the x-coordinates are measured, should
+    *                 be the {@link DynamicTimeAxis#baseTimeProperty() base time} of the axis.
+    */
+   public TimeSeries(String name, int capacity, long baseTime)
+   {
+      this(name, capacity, baseTime, false);
+   }
+
+   /**
+    * Creates a new series.
+    *
+    * @param name                the name of this series.
+    * @param capacity            the maximum number of samples this series holds.
+    * @param baseTime            the timestamp in nanoseconds from which the x-coordinates are
+    *                            measured, should be the {@link DynamicTimeAxis#baseTimeProperty()
+    *                            base time} of the axis.
+    * @param enableLevelOfDetail whether to build a {@link LevelOfDetailIndex} as samples are added,
+    *                            in which case the timestamps should be increasing.
+    */
+   public TimeSeries(String name, int capacity, long baseTime, boolean enableLevelOfDetail)
+   {
+      super(name, capacity, enableLevelOfDetail);
+      this.baseTime = baseTime;
+   }
+
+   /**
+    * Appends a new sample to this series, see {@link #append(double, double)}.
+    *
+    * @param time the timestamp in nanoseconds of the new sample.
+    * @param y    the y-coordinate of the new sample.
+    */
+   public void append(long time, double y)
+   {
+      append((double) (time - baseTime), y);
+   }
+
+   /**
+    * Appends a batch of samples to this series, see {@link #append(double[], double[], int, int)}.
+    * <p>
+    * The timestamps are converted into a buffer reused across calls, in chunks of the capacity of this
+    * series for larger batches.
+    * </p>
+    *
+    * @param time   the array containing the timestamps in nanoseconds of the new samples.
+    * @param y      the array containing the y-coordinates of the new samples.
+    * @param offset the index in the arrays of the first new sample.
+    * @param length the number of new samples.
+    */
+   public void append(long[] time, double[] y, int offset, int length)
+   {
+      if (offset < 0 || length < 0 || offset + length > time.length || offset + length > y.length)
+         throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", time length: " + time.length + ", y length: " + y.length);
+
+      int batchLength = Math.min(length, getCapacity());
+
+      if (batchX == null || batchX.length < batchLength)
+         batchX = new double[batchLength];
+
+      for (int start = 0; start < length; start += batchLength)
+      {
+         int chunkLength = Math.min(batchLength, length - start);
+
+         for (int i = 0; i < chunkLength; i++)
+         {
+            batchX[i] = time[offset + start + i] - baseTime;
+         }
+
+         // Only the timestamps are converted, the y-coordinates are copied straight from the array.
+         append(batchX, 0, y, offset + start, chunkLength);
+      }
+   }
+
+   /**
+    * Gets the timestamp of a sample.
+    *
+    * @param index the index of the sample.
+    * @return the timestamp in nanoseconds.
+    */
+   public long getTime(int index)
+   {
+      return baseTime + (long) getX(index);
+   }
+
+   /**
+    * @return the timestamp in nanoseconds from which the x-coordinates are measured.
+    */
+   public long getBaseTime()
+   {
+      return baseTime;
+   }
+}
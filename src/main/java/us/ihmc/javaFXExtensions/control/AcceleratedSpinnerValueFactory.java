@@ -0,0 +1,39 @@
+package us.ihmc.javaFXExtensions.control;
+
+import javafx.beans.property.ObjectProperty;
+
+/**
+ * Implemented by the spinner value factories which stepping can be accelerated while the user keeps
+ * stepping in the same direction, see {@link SpinnerAcceleration}.
+ * <p>
+ * The programmatic {@code increment(int)} and {@code decrement(int)} always step exactly, the
+ * acceleration only applies to the steps requested by the user through
+ * {@link #incrementAccelerated(int)} and {@link #decrementAccelerated(int)}. Use
+ * {@link SpinnerAccelerationHandler#install(javafx.scene.control.Spinner)} to have the arrow
+ * buttons, the arrow keys, and the scroll wheel of a {@code Spinner} call these methods.
+ * </p>
+ */
+public interface AcceleratedSpinnerValueFactory
+{
+   /**
+    * Sets the acceleration applied when the user steps repeatedly in the same direction,
+    * {@code null} to always step by {@code amountToStepBy}. Default value is {@code null}.
+    */
+   ObjectProperty<SpinnerAcceleration> accelerationProperty();
+
+   /**
+    * Decrements the value like {@code decrement(int)}, multiplying the number of steps according to
+    * the {@link #accelerationProperty() acceleration}.
+    *
+    * @param steps the number of steps requested by the user.
+    */
+   void decrementAccelerated(int steps);
+
+   /**
+    * Increments the value like {@code increment(int)}, multiplying the number of steps according to
+    * the {@link #accelerationProperty() acceleration}.
+    *
+    * @param steps the number of steps requested by the user.
+    */
+   void incrementAccelerated(int steps);
+}
@@ -0,0 +1,21 @@
+package us.ihmc.javaFXExtensions.control;
+
+/**
+ * A {@link javafx.util.StringConverter} implementation for {@link Double} values, equivalent to
+ * {@link javafx.util.converter.DoubleStringConverter}, which returns the last string or number
+ * converted when converting the same value again.
+ */
+public class CachedDoubleStringConverter extends CachedNumberStringConverter<Double>
+{
+   @Override
+   protected Double parse(String text)
+   {
+      return Double.valueOf(text);
+   }
+
+   @Override
+   protected String format(Double value)
+   {
+      return Double.toString(value.doubleValue());
+   }
+}
@@ -0,0 +1,21 @@
+package us.ihmc.javaFXExtensions.control;
+
+/**
+ * A {@link javafx.util.StringConverter} implementation for {@link Integer} values, equivalent to
+ * {@link javafx.util.converter.IntegerStringConverter}, which returns the last string or number
+ * converted when converting the same value again.
+ */
+public class CachedIntegerStringConverter extends CachedNumberStringConverter<Integer>
+{
+   @Override
+   protected Integer parse(String text)
+   {
+      return Integer.valueOf(text);
+   }
+
+   @Override
+   protected String format(Integer value)
+   {
+      return Integer.toString(value.intValue());
+   }
+}
@@ -0,0 +1,21 @@
+package us.ihmc.javaFXExtensions.control;
+
+/**
+ * A {@link javafx.util.StringConverter} implementation for {@link Long} values, equivalent to
+ * {@link javafx.util.converter.LongStringConverter}, which returns the last string or number
+ * converted when converting the same value again.
+ */
+public class CachedLongStringConverter extends CachedNumberStringConverter<Long>
+{
+   @Override
+   protected Long parse(String text)
+   {
+      return Long.valueOf(text);
+   }
+
+   @Override
+   protected String format(Long value)
+   {
+      return Long.toString(value.longValue());
+   }
+}
@@ -0,0 +1,68 @@
+package us.ihmc.javaFXExtensions.control;
+
+import javafx.util.StringConverter;
+
+/**
+ * Base class for the number converters that remember the last value formatted and the last text
+ * parsed.
+ * <p>
+ * A spinner converts its value back and forth with the text of its editor, mostly with the same
+ * value: in that case the cached string or number is returned instead of a new one, which allocates
+ * nothing and, because the same boxed instance is returned, does not notify the listeners of the
+ * spinner value.
+ * </p>
+ *
+ * @param <T> the type of number to convert.
+ */
+abstract class CachedNumberStringConverter<T extends Number> extends StringConverter<T>
+{
+   private T formattedValue = null;
+   private String formattedText = null;
+   private String parsedText = null;
+   private T parsedValue = null;
+
+   /**
+    * Converts a non-empty string, trimmed of its leading and trailing whitespace, to a number.
+    */
+   protected abstract T parse(String text);
+
+   /**
+    * Converts a non-null number to a string.
+    */
+   protected abstract String format(T value);
+
+   /** {@inheritDoc} */
+   @Override
+   public T fromString(String text)
+   {
+      if (text == null)
+         return null;
+
+      // Most of the time the editor shows the text of the current value.
+      if (text.equals(formattedText))
+         return formattedValue;
+      if (text.equals(parsedText))
+         return parsedValue;
+
+      String trimmed = text.trim();
+      T value = trimmed.isEmpty() ? null : parse(trimmed);
+      parsedText = text;
+      parsedValue = value;
+      return value;
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public String toString(T value)
+   {
+      if (value == null)
+         return "";
+
+      if (!value.equals(formattedValue))
+      {
+         formattedText = format(value);
+         formattedValue = value;
+      }
+      return formattedText;
+   }
+}
@@ -2,7 +2,9 @@ package us.ihmc.javaFXExtensions.control;
 
 import javafx.beans.NamedArg;
 import javafx.beans.property.LongProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.control.SpinnerValueFactory;
 import javafx.util.converter.LongStringConverter;
 
@@ -14,8 +16,9 @@ import javafx.util.converter.LongStringConverter;
  * Note that the default {@link #converterProperty() converter} is implemented as an
  * {@link javafx.util.converter.LongStringConverter} instance.
  */
-public class LongSpinnerValueFactory extends SpinnerValueFactory<Long>
+public class LongSpinnerValueFactory extends SpinnerValueFactory<Long> implements AcceleratedSpinnerValueFactory
 {
+   private final SpinnerValueFactoryHelper<Long> helper = new SpinnerValueFactoryHelper<>(this, this::applySubmittedValue);
 
    /***********************************************************************
     * * Constructors * *
@@ -191,6 +194,54 @@ public class LongSpinnerValueFactory extends SpinnerValueFactory<Long>
       return amountToStepBy;
    }
 
+   // --- acceleration
+   private final ObjectProperty<SpinnerAcceleration> acceleration = new SimpleObjectProperty<>(this, "acceleration");
+
+   public final void setAcceleration(SpinnerAcceleration value)
+   {
+      acceleration.set(value);
+   }
+
+   public final SpinnerAcceleration getAcceleration()
+   {
+      return acceleration.get();
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public final ObjectProperty<SpinnerAcceleration> accelerationProperty()
+   {
+      return acceleration;
+   }
+
+   /***********************************************************************
+    * * Live values * *
+    **********************************************************************/
+
+   /**
+    * Submits a new value for this factory, can be called from any thread at any rate.
+    * <p>
+    * Only the latest value submitted before a pulse is applied: it is clamped to the current
+    * [{@link #getMin() min}, {@link #getMax() max}] range and set once on the JavaFX Application
+    * Thread, such that the spinner is updated at most once per pulse.
+    * </p>
+    *
+    * @param value the new value.
+    */
+   public void submitValue(long value)
+   {
+      helper.submit(value);
+   }
+
+   private void applySubmittedValue(long submittedValue)
+   {
+      long value = Math.max(getMin(), Math.min(submittedValue, getMax()));
+      Long currentValue = getValue();
+
+      if (currentValue == null || currentValue.longValue() != value)
+         setValue(value);
+   }
+
    /***********************************************************************
     * * Overridden methods * *
     **********************************************************************/
@@ -199,43 +250,42 @@ public class LongSpinnerValueFactory extends SpinnerValueFactory<Long>
    @Override
    public void decrement(int steps)
    {
-      final long min = getMin();
-      final long max = getMax();
-      final long newIndex = getValue() - steps * getAmountToStepBy();
-      setValue(newIndex >= min ? newIndex : (isWrapAround() ? wrapValue(newIndex, min, max) + 1 : min));
+      step(-(long) steps);
    }
 
    /** {@inheritDoc} */
    @Override
    public void increment(int steps)
    {
-      final long min = getMin();
-      final long max = getMax();
-      final long currentValue = getValue();
-      final long newIndex = currentValue + steps * getAmountToStepBy();
-      setValue(newIndex <= max ? newIndex : (isWrapAround() ? wrapValue(newIndex, min, max) - 1 : max));
+      step(steps);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void decrementAccelerated(int steps)
+   {
+      step(helper.accelerate(-(long) steps, getAcceleration()));
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void incrementAccelerated(int steps)
+   {
+      step(helper.accelerate(steps, getAcceleration()));
+   }
+
+   private void step(long steps)
+   {
+      setValue(helper.step(getValue().longValue(), getAmountToStepBy(), steps, getMin(), getMax()));
    }
 
    /*
     * Convenience method to support wrapping values around their min / max constraints. Used by the
-    * SpinnerValueFactory implementations when the Spinner wrapAround property is true.
+    * SpinnerValueFactory implementations when the Spinner wrapAround property is true. Values that
+    * are a multiple of max - min + 1 apart are wrapped to the same value.
     */
    static long wrapValue(long value, long min, long max)
    {
-      if (max == 0)
-      {
-         throw new RuntimeException();
-      }
-
-      long r = value % max;
-      if (r > min && max < min)
-      {
-         r = r + max - min;
-      }
-      else if (r < min && max > min)
-      {
-         r = r + max - min;
-      }
-      return r;
+      return SpinnerStepping.wrap(value, min, max);
    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,307 @@
+package us.ihmc.javaFXExtensions.control;
+
+import javafx.beans.NamedArg;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.control.SpinnerValueFactory;
+
+/**
+ * A {@link javafx.scene.control.SpinnerValueFactory} implementation designed to iterate through
+ * double values like {@link UnboundedDoubleSpinnerValueFactory}, including {@link Double#NaN} and
+ * the infinities, which value is held by a primitive {@link #doubleValueProperty() doubleValue}
+ * property.
+ * <p>
+ * Stepping and clamping are done on the primitive value, the {@link #valueProperty() boxed value}
+ * used by the {@code Spinner} is only updated once per change. Listeners and bindings can use the
+ * primitive property directly to avoid unboxing.
+ * </p>
+ * <p>
+ * Each change of the value still allocates: the {@code Double} set as the boxed value, and the
+ * {@code String} formatted by the converter for the editor of the {@code Spinner}.
+ * </p>
+ * <p>
+ * Note that the default {@link #converterProperty() converter} is implemented as an
+ * {@link CachedDoubleStringConverter} instance.
+ * </p>
+ */
+public class PrimitiveDoubleSpinnerValueFactory extends SpinnerValueFactory<Double> implements AcceleratedSpinnerValueFactory
+{
+   private final SpinnerValueFactoryHelper<Double> helper = new SpinnerValueFactoryHelper<>(this);
+
+   /**
+    * Constructs a new PrimitiveDoubleSpinnerValueFactory that sets the initial value to be equal
+    * to the min value, and a default {@code amountToStepBy} of one.
+    *
+    * @param min The minimum allowed double value for the Spinner.
+    * @param max The maximum allowed double value for the Spinner.
+    */
+   public PrimitiveDoubleSpinnerValueFactory(@NamedArg("min") double min, @NamedArg("max") double max)
+   {
+      this(min, max, min);
+   }
+
+   /**
+    * Constructs a new PrimitiveDoubleSpinnerValueFactory with a default {@code amountToStepBy} of
+    * one.
+    *
+    * @param min          The minimum allowed double value for the Spinner.
+    * @param max          The maximum allowed double value for the Spinner.
+    * @param initialValue The value of the Spinner when first instantiated, must be within the bounds
+    *                     of the min and max arguments, or else the min value will be used.
+    */
+   public PrimitiveDoubleSpinnerValueFactory(@NamedArg("min") double min, @NamedArg("max") double max, @NamedArg("initialValue") double initialValue)
+   {
+      this(min, max, initialValue, 1.0);
+   }
+
+   /**
+    * Constructs a new PrimitiveDoubleSpinnerValueFactory.
+    *
+    * @param min            The minimum allowed double value for the Spinner.
+    * @param max            The maximum allowed double value for the Spinner.
+    * @param initialValue   The value of the Spinner when first instantiated, must be within the bounds
+    *                       of the min and max arguments, or else the min value will be used.
+    * @param amountToStepBy The amount to increment or decrement by, per step.
+    */
+   public PrimitiveDoubleSpinnerValueFactory(@NamedArg("min") double min, @NamedArg("max") double max, @NamedArg("initialValue") double initialValue,
+                                             @NamedArg("amountToStepBy") double amountToStepBy)
+   {
+      setMin(min);
+      setMax(max);
+      setAmountToStepBy(amountToStepBy);
+      setConverter(new CachedDoubleStringConverter());
+
+      valueProperty().addListener((o, oldValue, newValue) ->
+      {
+         if (helper.isUpdatingBoxedValue())
+            return;
+
+         // The value was set from outside, e.g. by the editor of the Spinner.
+         if (newValue == null || doubleValue.isBound())
+         {
+            updateBoxedValue(getDoubleValue());
+            return;
+         }
+
+         setDoubleValue(newValue.doubleValue());
+         // When clamped, the primitive value is already up-to-date but the boxed value is not.
+         updateBoxedValue(getDoubleValue());
+      });
+      setDoubleValue(initialValue >= min && initialValue <= max ? initialValue : min);
+      // The primitive value is not invalidated when the initial value is 0.0.
+      updateBoxedValue(getDoubleValue());
+   }
+
+   private void updateBoxedValue(double value)
+   {
+      Double boxedValue = getValue();
+
+      if (boxedValue != null && Double.compare(boxedValue.doubleValue(), value) == 0)
+         return;
+
+      helper.setBoxedValue(Double.valueOf(value));
+   }
+
+   private double clamp(double value)
+   {
+      // Comparisons rather than Math.min/max so NaN is kept.
+      if (value < getMin())
+         return getMin();
+      else if (value > getMax())
+         return getMax();
+      else
+         return value;
+   }
+
+   // --- doubleValue
+   private final DoubleProperty doubleValue = new SimpleDoubleProperty(this, "doubleValue")
+   {
+      @Override
+      protected void invalidated()
+      {
+         double value = get();
+         double clampedValue = clamp(value);
+
+         if (Double.compare(clampedValue, value) != 0 && !isBound())
+         {
+            set(clampedValue);
+            return;
+         }
+
+         updateBoxedValue(clampedValue);
+      }
+   };
+
+   public final void setDoubleValue(double value)
+   {
+      doubleValue.set(value);
+   }
+
+   public final double getDoubleValue()
+   {
+      return doubleValue.get();
+   }
+
+   /**
+    * The value of this factory as a primitive, always within [min, max] unless bound. The
+    * {@link #valueProperty() boxed value} is kept in sync with this property.
+    */
+   public final DoubleProperty doubleValueProperty()
+   {
+      return doubleValue;
+   }
+
+   // --- min
+   private final DoubleProperty min = new SimpleDoubleProperty(this, "min")
+   {
+      @Override
+      protected void invalidated()
+      {
+         if (PrimitiveDoubleSpinnerValueFactory.this.getValue() == null)
+            return;
+
+         double newMin = get();
+         if (newMin > getMax())
+         {
+            setMin(getMax());
+            return;
+         }
+
+         if (getDoubleValue() < newMin)
+            setDoubleValue(newMin);
+      }
+   };
+
+   public final void setMin(double value)
+   {
+      min.set(value);
+   }
+
+   public final double getMin()
+   {
+      return min.get();
+   }
+
+   /**
+    * Sets the minimum allowable value for this value factory
+    */
+   public final DoubleProperty minProperty()
+   {
+      return min;
+   }
+
+   // --- max
+   private final DoubleProperty max = new SimpleDoubleProperty(this, "max")
+   {
+      @Override
+      protected void invalidated()
+      {
+         if (PrimitiveDoubleSpinnerValueFactory.this.getValue() == null)
+            return;
+
+         double newMax = get();
+         if (newMax < getMin())
+         {
+            setMax(getMin());
+            return;
+         }
+
+         if (getDoubleValue() > newMax)
+            setDoubleValue(newMax);
+      }
+   };
+
+   public final void setMax(double value)
+   {
+      max.set(value);
+   }
+
+   public final double getMax()
+   {
+      return max.get();
+   }
+
+   /**
+    * Sets the maximum allowable value for this value factory
+    */
+   public final DoubleProperty maxProperty()
+   {
+      return max;
+   }
+
+   // --- amountToStepBy
+   private final DoubleProperty amountToStepBy = new SimpleDoubleProperty(this, "amountToStepBy");
+
+   public final void setAmountToStepBy(double value)
+   {
+      amountToStepBy.set(value);
+   }
+
+   public final double getAmountToStepBy()
+   {
+      return amountToStepBy.get();
+   }
+
+   /**
+    * Sets the amount to increment or decrement by, per step.
+    */
+   public final DoubleProperty amountToStepByProperty()
+   {
+      return amountToStepBy;
+   }
+
+   // --- acceleration
+   private final ObjectProperty<SpinnerAcceleration> acceleration = new SimpleObjectProperty<>(this, "acceleration");
+
+   public final void setAcceleration(SpinnerAcceleration value)
+   {
+      acceleration.set(value);
+   }
+
+   public final SpinnerAcceleration getAcceleration()
+   {
+      return acceleration.get();
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public final ObjectProperty<SpinnerAcceleration> accelerationProperty()
+   {
+      return acceleration;
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void decrement(int steps)
+   {
+      step(-(long) steps);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void increment(int steps)
+   {
+      step(steps);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void decrementAccelerated(int steps)
+   {
+      step(helper.accelerate(-(long) steps, getAcceleration()));
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void incrementAccelerated(int steps)
+   {
+      step(helper.accelerate(steps, getAcceleration()));
+   }
+
+   private void step(long steps)
+   {
+      setDoubleValue(helper.step(getDoubleValue(), getAmountToStepBy(), steps, getMin(), getMax()));
+   }
+}
@@ -0,0 +1,301 @@
+package us.ihmc.javaFXExtensions.control;
+
+import javafx.beans.NamedArg;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.control.SpinnerValueFactory;
+
+/**
+ * A {@link javafx.scene.control.SpinnerValueFactory} implementation designed to iterate through
+ * int values like {@link javafx.scene.control.SpinnerValueFactory.IntegerSpinnerValueFactory},
+ * which value is held by a primitive {@link #intValueProperty() intValue} property.
+ * <p>
+ * Stepping and clamping are done on the primitive value, the {@link #valueProperty() boxed value}
+ * used by the {@code Spinner} is only updated once per change. Listeners and bindings can use the
+ * primitive property directly to avoid unboxing.
+ * </p>
+ * <p>
+ * Each change of the value still allocates: the {@code Integer} set as the boxed value, and the
+ * {@code String} formatted by the converter for the editor of the {@code Spinner}.
+ * </p>
+ * <p>
+ * Note that the default {@link #converterProperty() converter} is implemented as an
+ * {@link CachedIntegerStringConverter} instance.
+ * </p>
+ */
+public class PrimitiveIntegerSpinnerValueFactory extends SpinnerValueFactory<Integer> implements AcceleratedSpinnerValueFactory
+{
+   private final SpinnerValueFactoryHelper<Integer> helper = new SpinnerValueFactoryHelper<>(this);
+
+   /**
+    * Constructs a new PrimitiveIntegerSpinnerValueFactory that sets the initial value to be equal
+    * to the min value, and a default {@code amountToStepBy} of one.
+    *
+    * @param min The minimum allowed int value for the Spinner.
+    * @param max The maximum allowed int value for the Spinner.
+    */
+   public PrimitiveIntegerSpinnerValueFactory(@NamedArg("min") int min, @NamedArg("max") int max)
+   {
+      this(min, max, min);
+   }
+
+   /**
+    * Constructs a new PrimitiveIntegerSpinnerValueFactory with a default {@code amountToStepBy} of
+    * one.
+    *
+    * @param min          The minimum allowed int value for the Spinner.
+    * @param max          The maximum allowed int value for the Spinner.
+    * @param initialValue The value of the Spinner when first instantiated, must be within the bounds
+    *                     of the min and max arguments, or else the min value will be used.
+    */
+   public PrimitiveIntegerSpinnerValueFactory(@NamedArg("min") int min, @NamedArg("max") int max, @NamedArg("initialValue") int initialValue)
+   {
+      this(min, max, initialValue, 1);
+   }
+
+   /**
+    * Constructs a new PrimitiveIntegerSpinnerValueFactory.
+    *
+    * @param min            The minimum allowed int value for the Spinner.
+    * @param max            The maximum allowed int value for the Spinner.
+    * @param initialValue   The value of the Spinner when first instantiated, must be within the bounds
+    *                       of the min and max arguments, or else the min value will be used.
+    * @param amountToStepBy The amount to increment or decrement by, per step.
+    */
+   public PrimitiveIntegerSpinnerValueFactory(@NamedArg("min") int min, @NamedArg("max") int max, @NamedArg("initialValue") int initialValue,
+                                              @NamedArg("amountToStepBy") int amountToStepBy)
+   {
+      setMin(min);
+      setMax(max);
+      setAmountToStepBy(amountToStepBy);
+      setConverter(new CachedIntegerStringConverter());
+
+      valueProperty().addListener((o, oldValue, newValue) ->
+      {
+         if (helper.isUpdatingBoxedValue())
+            return;
+
+         // The value was set from outside, e.g. by the editor of the Spinner.
+         if (newValue == null || intValue.isBound())
+         {
+            updateBoxedValue(getIntValue());
+            return;
+         }
+
+         setIntValue(newValue.intValue());
+         // When clamped, the primitive value is already up-to-date but the boxed value is not.
+         updateBoxedValue(getIntValue());
+      });
+      setIntValue(initialValue >= min && initialValue <= max ? initialValue : min);
+      // The primitive value is not invalidated when the initial value is 0.
+      updateBoxedValue(getIntValue());
+   }
+
+   private void updateBoxedValue(int value)
+   {
+      Integer boxedValue = getValue();
+
+      if (boxedValue != null && boxedValue.intValue() == value)
+         return;
+
+      helper.setBoxedValue(Integer.valueOf(value));
+   }
+
+   private int clamp(int value)
+   {
+      return Math.max(getMin(), Math.min(value, getMax()));
+   }
+
+   // --- intValue
+   private final IntegerProperty intValue = new SimpleIntegerProperty(this, "intValue")
+   {
+      @Override
+      protected void invalidated()
+      {
+         int value = get();
+         int clampedValue = clamp(value);
+
+         if (clampedValue != value && !isBound())
+         {
+            set(clampedValue);
+            return;
+         }
+
+         updateBoxedValue(clampedValue);
+      }
+   };
+
+   public final void setIntValue(int value)
+   {
+      intValue.set(value);
+   }
+
+   public final int getIntValue()
+   {
+      return intValue.get();
+   }
+
+   /**
+    * The value of this factory as a primitive, always within [min, max] unless bound. The
+    * {@link #valueProperty() boxed value} is kept in sync with this property.
+    */
+   public final IntegerProperty intValueProperty()
+   {
+      return intValue;
+   }
+
+   // --- min
+   private final IntegerProperty min = new SimpleIntegerProperty(this, "min")
+   {
+      @Override
+      protected void invalidated()
+      {
+         if (PrimitiveIntegerSpinnerValueFactory.this.getValue() == null)
+            return;
+
+         int newMin = get();
+         if (newMin > getMax())
+         {
+            setMin(getMax());
+            return;
+         }
+
+         if (getIntValue() < newMin)
+            setIntValue(newMin);
+      }
+   };
+
+   public final void setMin(int value)
+   {
+      min.set(value);
+   }
+
+   public final int getMin()
+   {
+      return min.get();
+   }
+
+   /**
+    * Sets the minimum allowable value for this value factory
+    */
+   public final IntegerProperty minProperty()
+   {
+      return min;
+   }
+
+   // --- max
+   private final IntegerProperty max = new SimpleIntegerProperty(this, "max")
+   {
+      @Override
+      protected void invalidated()
+      {
+         if (PrimitiveIntegerSpinnerValueFactory.this.getValue() == null)
+            return;
+
+         int newMax = get();
+         if (newMax < getMin())
+         {
+            setMax(getMin());
+            return;
+         }
+
+         if (getIntValue() > newMax)
+            setIntValue(newMax);
+      }
+   };
+
+   public final void setMax(int value)
+   {
+      max.set(value);
+   }
+
+   public final int getMax()
+   {
+      return max.get();
+   }
+
+   /**
+    * Sets the maximum allowable value for this value factory
+    */
+   public final IntegerProperty maxProperty()
+   {
+      return max;
+   }
+
+   // --- amountToStepBy
+   private final IntegerProperty amountToStepBy = new SimpleIntegerProperty(this, "amountToStepBy");
+
+   public final void setAmountToStepBy(int value)
+   {
+      amountToStepBy.set(value);
+   }
+
+   public final int getAmountToStepBy()
+   {
+      return amountToStepBy.get();
+   }
+
+   /**
+    * Sets the amount to increment or decrement by, per step.
+    */
+   public final IntegerProperty amountToStepByProperty()
+   {
+      return amountToStepBy;
+   }
+
+   // --- acceleration
+   private final ObjectProperty<SpinnerAcceleration> acceleration = new SimpleObjectProperty<>(this, "acceleration");
+
+   public final void setAcceleration(SpinnerAcceleration value)
+   {
+      acceleration.set(value);
+   }
+
+   public final SpinnerAcceleration getAcceleration()
+   {
+      return acceleration.get();
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public final ObjectProperty<SpinnerAcceleration> accelerationProperty()
+   {
+      return acceleration;
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void decrement(int steps)
+   {
+      step(-(long) steps);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void increment(int steps)
+   {
+      step(steps);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void decrementAccelerated(int steps)
+   {
+      step(helper.accelerate(-(long) steps, getAcceleration()));
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void incrementAccelerated(int steps)
+   {
+      step(helper.accelerate(steps, getAcceleration()));
+   }
+
+   private void step(long steps)
+   {
+      // The result is within [min, max] and fits in an int.
+      setIntValue((int) helper.step(getIntValue(), getAmountToStepBy(), steps, getMin(), getMax()));
+   }
+}
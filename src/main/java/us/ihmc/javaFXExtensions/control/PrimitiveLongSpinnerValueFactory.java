@@ -0,0 +1,299 @@
+package us.ihmc.javaFXExtensions.control;
+
+import javafx.beans.NamedArg;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.control.SpinnerValueFactory;
+
+/**
+ * A {@link javafx.scene.control.SpinnerValueFactory} implementation designed to iterate through
+ * long values like {@link LongSpinnerValueFactory}, which value is held by a primitive
+ * {@link #longValueProperty() longValue} property.
+ * <p>
+ * Stepping and clamping are done on the primitive value, the {@link #valueProperty() boxed value}
+ * used by the {@code Spinner} is only updated once per change. Listeners and bindings can use the
+ * primitive property directly to avoid unboxing.
+ * </p>
+ * <p>
+ * Each change of the value still allocates: the {@code Long} set as the boxed value, and the
+ * {@code String} formatted by the converter for the editor of the {@code Spinner}.
+ * </p>
+ * <p>
+ * Note that the default {@link #converterProperty() converter} is implemented as an
+ * {@link CachedLongStringConverter} instance.
+ * </p>
+ */
+public class PrimitiveLongSpinnerValueFactory extends SpinnerValueFactory<Long> implements AcceleratedSpinnerValueFactory
+{
+   private final SpinnerValueFactoryHelper<Long> helper = new SpinnerValueFactoryHelper<>(this);
+
+   /**
+    * Constructs a new PrimitiveLongSpinnerValueFactory that sets the initial value to be equal to
+    * the min value, and a default {@code amountToStepBy} of one.
+    *
+    * @param min The minimum allowed long value for the Spinner.
+    * @param max The maximum allowed long value for the Spinner.
+    */
+   public PrimitiveLongSpinnerValueFactory(@NamedArg("min") long min, @NamedArg("max") long max)
+   {
+      this(min, max, min);
+   }
+
+   /**
+    * Constructs a new PrimitiveLongSpinnerValueFactory with a default {@code amountToStepBy} of one.
+    *
+    * @param min          The minimum allowed long value for the Spinner.
+    * @param max          The maximum allowed long value for the Spinner.
+    * @param initialValue The value of the Spinner when first instantiated, must be within the bounds
+    *                     of the min and max arguments, or else the min value will be used.
+    */
+   public PrimitiveLongSpinnerValueFactory(@NamedArg("min") long min, @NamedArg("max") long max, @NamedArg("initialValue") long initialValue)
+   {
+      this(min, max, initialValue, 1L);
+   }
+
+   /**
+    * Constructs a new PrimitiveLongSpinnerValueFactory.
+    *
+    * @param min            The minimum allowed long value for the Spinner.
+    * @param max            The maximum allowed long value for the Spinner.
+    * @param initialValue   The value of the Spinner when first instantiated, must be within the bounds
+    *                       of the min and max arguments, or else the min value will be used.
+    * @param amountToStepBy The amount to increment or decrement by, per step.
+    */
+   public PrimitiveLongSpinnerValueFactory(@NamedArg("min") long min, @NamedArg("max") long max, @NamedArg("initialValue") long initialValue,
+                                           @NamedArg("amountToStepBy") long amountToStepBy)
+   {
+      setMin(min);
+      setMax(max);
+      setAmountToStepBy(amountToStepBy);
+      setConverter(new CachedLongStringConverter());
+
+      valueProperty().addListener((o, oldValue, newValue) ->
+      {
+         if (helper.isUpdatingBoxedValue())
+            return;
+
+         // The value was set from outside, e.g. by the editor of the Spinner.
+         if (newValue == null || longValue.isBound())
+         {
+            updateBoxedValue(getLongValue());
+            return;
+         }
+
+         setLongValue(newValue.longValue());
+         // When clamped, the primitive value is already up-to-date but the boxed value is not.
+         updateBoxedValue(getLongValue());
+      });
+      setLongValue(initialValue >= min && initialValue <= max ? initialValue : min);
+      // The primitive value is not invalidated when the initial value is 0.
+      updateBoxedValue(getLongValue());
+   }
+
+   private void updateBoxedValue(long value)
+   {
+      Long boxedValue = getValue();
+
+      if (boxedValue != null && boxedValue.longValue() == value)
+         return;
+
+      helper.setBoxedValue(Long.valueOf(value));
+   }
+
+   private long clamp(long value)
+   {
+      return Math.max(getMin(), Math.min(value, getMax()));
+   }
+
+   // --- longValue
+   private final LongProperty longValue = new SimpleLongProperty(this, "longValue")
+   {
+      @Override
+      protected void invalidated()
+      {
+         long value = get();
+         long clampedValue = clamp(value);
+
+         if (clampedValue != value && !isBound())
+         {
+            set(clampedValue);
+            return;
+         }
+
+         updateBoxedValue(clampedValue);
+      }
+   };
+
+   public final void setLongValue(long value)
+   {
+      longValue.set(value);
+   }
+
+   public final long getLongValue()
+   {
+      return longValue.get();
+   }
+
+   /**
+    * The value of this factory as a primitive, always within [min, max] unless bound. The
+    * {@link #valueProperty() boxed value} is kept in sync with this property.
+    */
+   public final LongProperty longValueProperty()
+   {
+      return longValue;
+   }
+
+   // --- min
+   private final LongProperty min = new SimpleLongProperty(this, "min")
+   {
+      @Override
+      protected void invalidated()
+      {
+         if (PrimitiveLongSpinnerValueFactory.this.getValue() == null)
+            return;
+
+         long newMin = get();
+         if (newMin > getMax())
+         {
+            setMin(getMax());
+            return;
+         }
+
+         if (getLongValue() < newMin)
+            setLongValue(newMin);
+      }
+   };
+
+   public final void setMin(long value)
+   {
+      min.set(value);
+   }
+
+   public final long getMin()
+   {
+      return min.get();
+   }
+
+   /**
+    * Sets the minimum allowable value for this value factory
+    */
+   public final LongProperty minProperty()
+   {
+      return min;
+   }
+
+   // --- max
+   private final LongProperty max = new SimpleLongProperty(this, "max")
+   {
+      @Override
+      protected void invalidated()
+      {
+         if (PrimitiveLongSpinnerValueFactory.this.getValue() == null)
+            return;
+
+         long newMax = get();
+         if (newMax < getMin())
+         {
+            setMax(getMin());
+            return;
+         }
+
+         if (getLongValue() > newMax)
+            setLongValue(newMax);
+      }
+   };
+
+   public final void setMax(long value)
+   {
+      max.set(value);
+   }
+
+   public final long getMax()
+   {
+      return max.get();
+   }
+
+   /**
+    * Sets the maximum allowable value for this value factory
+    */
+   public final LongProperty maxProperty()
+   {
+      return max;
+   }
+
+   // --- amountToStepBy
+   private final LongProperty amountToStepBy = new SimpleLongProperty(this, "amountToStepBy");
+
+   public final void setAmountToStepBy(long value)
+   {
+      amountToStepBy.set(value);
+   }
+
+   public final long getAmountToStepBy()
+   {
+      return amountToStepBy.get();
+   }
+
+   /**
+    * Sets the amount to increment or decrement by, per step.
+    */
+   public final LongProperty amountToStepByProperty()
+   {
+      return amountToStepBy;
+   }
+
+   // --- acceleration
+   private final ObjectProperty<SpinnerAcceleration> acceleration = new SimpleObjectProperty<>(this, "acceleration");
+
+   public final void setAcceleration(SpinnerAcceleration value)
+   {
+      acceleration.set(value);
+   }
+
+   public final SpinnerAcceleration getAcceleration()
+   {
+      return acceleration.get();
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public final ObjectProperty<SpinnerAcceleration> accelerationProperty()
+   {
+      return acceleration;
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void decrement(int steps)
+   {
+      step(-(long) steps);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void increment(int steps)
+   {
+      step(steps);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void decrementAccelerated(int steps)
+   {
+      step(helper.accelerate(-(long) steps, getAcceleration()));
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void incrementAccelerated(int steps)
+   {
+      step(helper.accelerate(steps, getAcceleration()));
+   }
+
+   private void step(long steps)
+   {
+      setLongValue(helper.step(getLongValue(), getAmountToStepBy(), steps, getMin(), getMax()));
+   }
+}
@@ -0,0 +1,80 @@
+package us.ihmc.javaFXExtensions.control;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Curve used by the spinner value factories to accelerate the stepping while the user keeps
+ * stepping in the same direction, e.g. by holding an arrow button or key, or scrolling.
+ * <p>
+ * Consecutive steps in the same direction less than {@link #getRepeatTimeout()} apart form a
+ * burst. The number of steps of each call to {@code incrementAccelerated(int)} or
+ * {@code decrementAccelerated(int)} is multiplied by the {@link #getStepMultiplier(long, long)
+ * multiplier} for the current burst, such that a large jump is delivered with a single update of
+ * the value. These methods are meant to be called from the handlers of the user input, see
+ * {@link SpinnerAccelerationHandler}, the programmatic {@code increment(int)} and
+ * {@code decrement(int)} are never accelerated.
+ * </p>
+ */
+@FunctionalInterface
+public interface SpinnerAcceleration
+{
+   /** Default value of {@link #getRepeatTimeout()}. */
+   long DEFAULT_REPEAT_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(500L);
+
+   /**
+    * Computes the factor by which to multiply the number of steps.
+    *
+    * @param holdDuration the time in nanoseconds elapsed since the first step of the burst.
+    * @param repeatCount  the number of steps since the first step of the burst, 0 for the first
+    *                     step.
+    * @return the step multiplier, values less than or equal to 1 do not accelerate.
+    */
+   double getStepMultiplier(long holdDuration, long repeatCount);
+
+   /**
+    * @return the maximum time in nanoseconds between two steps of the same burst.
+    */
+   default long getRepeatTimeout()
+   {
+      return DEFAULT_REPEAT_TIMEOUT;
+   }
+
+   /**
+    * Creates an acceleration which multiplier doubles at a constant interval while stepping.
+    *
+    * @param doublingTime  the time in seconds for the multiplier to double.
+    * @param maxMultiplier the maximum value of the multiplier.
+    * @return the new acceleration.
+    */
+   static SpinnerAcceleration exponential(double doublingTime, double maxMultiplier)
+   {
+      double rate = 1.0e-9 / doublingTime;
+      return (holdDuration, repeatCount) -> Math.min(Math.pow(2.0, holdDuration * rate), maxMultiplier);
+   }
+
+   /**
+    * Creates an acceleration which multiplier grows linearly with time while stepping.
+    *
+    * @param slope         the growth of the multiplier per second.
+    * @param maxMultiplier the maximum value of the multiplier.
+    * @return the new acceleration.
+    */
+   static SpinnerAcceleration linear(double slope, double maxMultiplier)
+   {
+      double rate = 1.0e-9 * slope;
+      return (holdDuration, repeatCount) -> Math.min(1.0 + holdDuration * rate, maxMultiplier);
+   }
+
+   /**
+    * Creates an acceleration which multiplier is multiplied by a constant factor at every step,
+    * regardless of the time elapsed, such that the faster the user steps the faster it accelerates.
+    *
+    * @param growth        the factor by which the multiplier grows per step.
+    * @param maxMultiplier the maximum value of the multiplier.
+    * @return the new acceleration.
+    */
+   static SpinnerAcceleration perRepeat(double growth, double maxMultiplier)
+   {
+      return (holdDuration, repeatCount) -> Math.min(Math.pow(growth, repeatCount), maxMultiplier);
+   }
+}
@@ -0,0 +1,190 @@
+package us.ihmc.javaFXExtensions.control;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.control.Spinner;
+import javafx.scene.control.SpinnerValueFactory;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.util.Duration;
+
+/**
+ * Routes the stepping requested by the user on a {@link Spinner} to the accelerated methods of its
+ * value factory, such that the {@link SpinnerAcceleration acceleration} applies while an arrow
+ * button or key is held down, or while scrolling.
+ * <p>
+ * The handler intercepts the presses on the arrow buttons, the arrow keys, and the scroll events of
+ * the spinner, and calls {@link AcceleratedSpinnerValueFactory#incrementAccelerated(int)} or
+ * {@link AcceleratedSpinnerValueFactory#decrementAccelerated(int)} instead of the default
+ * {@code increment(int)} and {@code decrement(int)}. Like the default skin, holding an arrow button
+ * steps once immediately and then repeatedly after a short delay. When the value factory does not
+ * implement {@link AcceleratedSpinnerValueFactory}, the events are left to the default behavior.
+ * </p>
+ * <p>
+ * This class is meant to be used from the JavaFX Application Thread only.
+ * </p>
+ */
+public final class SpinnerAccelerationHandler
+{
+   private static final String INCREMENT_ARROW_BUTTON = "increment-arrow-button";
+   private static final String DECREMENT_ARROW_BUTTON = "decrement-arrow-button";
+   /** Time an arrow button has to be held down before stepping repeatedly. */
+   private static final Duration INITIAL_DELAY = Duration.millis(300.0);
+   /** Time between two steps while an arrow button is held down. */
+   private static final Duration REPEAT_INTERVAL = Duration.millis(60.0);
+
+   private final Spinner<?> spinner;
+   private final Timeline repeatTimeline = new Timeline();
+   /** Direction of the arrow button being held down. */
+   private boolean repeatUp;
+
+   private final EventHandler<MouseEvent> mousePressedFilter = this::handleMousePressed;
+   private final EventHandler<MouseEvent> mouseReleasedFilter = event -> repeatTimeline.stop();
+   private final EventHandler<KeyEvent> keyPressedFilter = this::handleKeyPressed;
+   private final EventHandler<ScrollEvent> scrollFilter = this::handleScroll;
+
+   /**
+    * Installs a new handler on a spinner.
+    *
+    * @param spinner the spinner to accelerate.
+    * @return the new handler, which can be {@link #uninstall() uninstalled} later.
+    */
+   public static SpinnerAccelerationHandler install(Spinner<?> spinner)
+   {
+      SpinnerAccelerationHandler handler = new SpinnerAccelerationHandler(spinner);
+      spinner.addEventFilter(MouseEvent.MOUSE_PRESSED, handler.mousePressedFilter);
+      spinner.addEventFilter(MouseEvent.MOUSE_RELEASED, handler.mouseReleasedFilter);
+      spinner.addEventFilter(KeyEvent.KEY_PRESSED, handler.keyPressedFilter);
+      spinner.addEventFilter(ScrollEvent.SCROLL, handler.scrollFilter);
+      return handler;
+   }
+
+   private SpinnerAccelerationHandler(Spinner<?> spinner)
+   {
+      this.spinner = spinner;
+      repeatTimeline.getKeyFrames().add(new KeyFrame(REPEAT_INTERVAL, event -> step(repeatUp)));
+      repeatTimeline.setCycleCount(Animation.INDEFINITE);
+      repeatTimeline.setDelay(INITIAL_DELAY);
+   }
+
+   /**
+    * Removes this handler from its spinner, which then steps with its default behavior.
+    */
+   public void uninstall()
+   {
+      repeatTimeline.stop();
+      spinner.removeEventFilter(MouseEvent.MOUSE_PRESSED, mousePressedFilter);
+      spinner.removeEventFilter(MouseEvent.MOUSE_RELEASED, mouseReleasedFilter);
+      spinner.removeEventFilter(KeyEvent.KEY_PRESSED, keyPressedFilter);
+      spinner.removeEventFilter(ScrollEvent.SCROLL, scrollFilter);
+   }
+
+   private void handleMousePressed(MouseEvent event)
+   {
+      if (event.getButton() != MouseButton.PRIMARY || getAcceleratedValueFactory() == null)
+         return;
+
+      // The arrow buttons are looked up from the node picked, e.g. the arrow inside the button.
+      for (Node node = event.getPickResult().getIntersectedNode(); node != null && node != spinner; node = node.getParent())
+      {
+         boolean increment = node.getStyleClass().contains(INCREMENT_ARROW_BUTTON);
+
+         if (increment || node.getStyleClass().contains(DECREMENT_ARROW_BUTTON))
+         {
+            event.consume();
+            if (spinner.isFocusTraversable() && !spinner.isFocused())
+               spinner.requestFocus();
+
+            repeatUp = increment;
+            step(increment);
+            repeatTimeline.playFromStart();
+            return;
+         }
+      }
+   }
+
+   private void handleKeyPressed(KeyEvent event)
+   {
+      if (getAcceleratedValueFactory() == null)
+         return;
+
+      boolean up;
+      boolean verticalKey;
+
+      switch (event.getCode())
+      {
+         case UP:
+         case KP_UP:
+            up = true;
+            verticalKey = true;
+            break;
+         case DOWN:
+         case KP_DOWN:
+            up = false;
+            verticalKey = true;
+            break;
+         case RIGHT:
+         case KP_RIGHT:
+            up = true;
+            verticalKey = false;
+            break;
+         case LEFT:
+         case KP_LEFT:
+            up = false;
+            verticalKey = false;
+            break;
+         default:
+            return;
+      }
+
+      // Same keys as the default behavior, which depend on the orientation of the arrows.
+      if (verticalKey == isHorizontal())
+         return;
+
+      event.consume();
+      step(up);
+   }
+
+   private void handleScroll(ScrollEvent event)
+   {
+      if (event.getDeltaY() == 0.0 || getAcceleratedValueFactory() == null)
+         return;
+
+      event.consume();
+      step(event.getDeltaY() > 0.0);
+   }
+
+   private void step(boolean up)
+   {
+      AcceleratedSpinnerValueFactory valueFactory = getAcceleratedValueFactory();
+
+      if (valueFactory == null || spinner.isDisabled())
+      {
+         repeatTimeline.stop();
+         return;
+      }
+
+      if (up)
+         valueFactory.incrementAccelerated(1);
+      else
+         valueFactory.decrementAccelerated(1);
+   }
+
+   private AcceleratedSpinnerValueFactory getAcceleratedValueFactory()
+   {
+      SpinnerValueFactory<?> valueFactory = spinner.getValueFactory();
+      return valueFactory instanceof AcceleratedSpinnerValueFactory ? (AcceleratedSpinnerValueFactory) valueFactory : null;
+   }
+
+   private boolean isHorizontal()
+   {
+      return spinner.getStyleClass().contains(Spinner.STYLE_CLASS_ARROWS_ON_LEFT_HORIZONTAL)
+            || spinner.getStyleClass().contains(Spinner.STYLE_CLASS_ARROWS_ON_RIGHT_HORIZONTAL)
+            || spinner.getStyleClass().contains(Spinner.STYLE_CLASS_SPLIT_ARROWS_HORIZONTAL);
+   }
+}
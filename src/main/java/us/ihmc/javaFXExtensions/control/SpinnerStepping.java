@@ -0,0 +1,238 @@
+package us.ihmc.javaFXExtensions.control;
+
+/**
+ * Arithmetic shared by the spinner value factories to step through their values.
+ * <p>
+ * When wrapping around, the values of a factory form a cycle: stepping past the max continues
+ * from the min and vice versa. For integer values, the cycle is made of the {@code max - min + 1}
+ * values of the range. For floating-point values, it is the interval [min, max] of length
+ * {@code max - min}, in which the max and the min are the same point: a value landing exactly on
+ * the max is kept as is, while values past the bounds are wrapped into [min, max). Any number of
+ * steps is computed in constant time and without overflow.
+ * </p>
+ */
+final class SpinnerStepping
+{
+   private SpinnerStepping()
+   {
+   }
+
+   /**
+    * Computes {@code value + steps * amountToStepBy}, saturating to {@link Long#MIN_VALUE} or
+    * {@link Long#MAX_VALUE} instead of overflowing.
+    *
+    * @param value          the current value.
+    * @param amountToStepBy the amount to step by, per step.
+    * @param steps          the number of steps, negative to step down.
+    * @return the value after stepping.
+    */
+   static long offset(long value, long amountToStepBy, long steps)
+   {
+      long delta = amountToStepBy * steps;
+
+      if (steps != 0 && (delta / steps != amountToStepBy || (steps == -1 && amountToStepBy == Long.MIN_VALUE)))
+      {
+         // The product does not fit in a long, the result is saturated in the direction of the steps.
+         return (amountToStepBy < 0L) == (steps < 0) ? Long.MAX_VALUE : Long.MIN_VALUE;
+      }
+
+      long result = value + delta;
+
+      // Overflow iff both operands have the same sign, which differs from the sign of the result.
+      if (((value ^ result) & (delta ^ result)) < 0L)
+         return value < 0L ? Long.MIN_VALUE : Long.MAX_VALUE;
+
+      return result;
+   }
+
+   /**
+    * Steps through the values in [min, max], stopping at the bounds.
+    *
+    * @param value          the current value.
+    * @param amountToStepBy the amount to step by, per step.
+    * @param steps          the number of steps, negative to step down.
+    * @param min            the minimum value.
+    * @param max            the maximum value.
+    * @return the value after stepping.
+    */
+   static long step(long value, long amountToStepBy, long steps, long min, long max)
+   {
+      return Math.max(min, Math.min(offset(value, amountToStepBy, steps), max));
+   }
+
+   /**
+    * Steps through the values in [min, max], wrapping around at the bounds.
+    *
+    * @param value          the current value.
+    * @param amountToStepBy the amount to step by, per step.
+    * @param steps          the number of steps, negative to step down.
+    * @param min            the minimum value.
+    * @param max            the maximum value.
+    * @return the value after stepping.
+    */
+   static long wrapStep(long value, long amountToStepBy, long steps, long min, long max)
+   {
+      // Number of values in the range as an unsigned long, 0 when the range covers all the longs.
+      long size = max - min + 1L;
+
+      if (size == 0L)
+         return value + amountToStepBy * steps; // The two's complement arithmetic wraps around.
+
+      long delta = multiplyMod(floorMod(amountToStepBy, size), floorMod(steps, size), size);
+      return min + addMod(subtractMod(floorMod(value, size), floorMod(min, size), size), delta, size);
+   }
+
+   /**
+    * Wraps an arbitrary value into [min, max], such that values that are a multiple of
+    * {@code max - min + 1} apart give the same result.
+    *
+    * @param value the value to wrap.
+    * @param min   the minimum value.
+    * @param max   the maximum value.
+    * @return the wrapped value.
+    */
+   static long wrap(long value, long min, long max)
+   {
+      return wrapStep(value, 0L, 0L, min, max);
+   }
+
+   /**
+    * Steps through the values in [min, max], stopping at the bounds.
+    *
+    * @param value          the current value.
+    * @param amountToStepBy the amount to step by, per step.
+    * @param steps          the number of steps, negative to step down.
+    * @param min            the minimum value.
+    * @param max            the maximum value.
+    * @return the value after stepping, {@link Double#NaN} stays {@link Double#NaN}.
+    */
+   static double step(double value, double amountToStepBy, long steps, double min, double max)
+   {
+      double newValue = value + amountToStepBy * steps;
+
+      // Comparisons rather than Math.min/max so NaN is kept.
+      if (newValue < min)
+         return min;
+      else if (newValue > max)
+         return max;
+      else
+         return newValue;
+   }
+
+   /**
+    * Steps through the values in [min, max], wrapping around at the bounds.
+    *
+    * @param value          the current value.
+    * @param amountToStepBy the amount to step by, per step.
+    * @param steps          the number of steps, negative to step down.
+    * @param min            the minimum value.
+    * @param max            the maximum value.
+    * @return the value after stepping, {@link Double#NaN} stays {@link Double#NaN}.
+    */
+   static double wrapStep(double value, double amountToStepBy, long steps, double min, double max)
+   {
+      double span = max - min;
+
+      double delta = amountToStepBy * steps;
+
+      if (span > 0.0 && span < Double.POSITIVE_INFINITY && !(Math.abs(delta) < span))
+      {
+         // Reduced before multiplying so large step counts retain as much precision as possible.
+         delta = (amountToStepBy % span) * steps % span;
+      }
+
+      return wrap(value + delta, min, max);
+   }
+
+   /**
+    * Wraps an arbitrary value into [min, max], such that values that are a multiple of
+    * {@code max - min} apart give the same result, except for the values in [min, max] which are
+    * returned as is, the max included.
+    * <p>
+    * When the range is empty or unbounded, a value below the min gives the max and a value above the
+    * max gives the min.
+    * </p>
+    *
+    * @param value the value to wrap.
+    * @param min   the minimum value.
+    * @param max   the maximum value.
+    * @return the wrapped value, {@link Double#NaN} stays {@link Double#NaN}.
+    */
+   static double wrap(double value, double min, double max)
+   {
+      if ((value >= min && value <= max) || Double.isNaN(value))
+         return value;
+
+      double span = max - min;
+
+      if (!(span > 0.0 && span < Double.POSITIVE_INFINITY) || Double.isInfinite(value))
+         return value < min ? max : min;
+
+      double offset = value - min;
+
+      // The remainder is comparatively slow and only needed for jumps of more than one cycle.
+      if (offset < -span || offset >= 2.0 * span)
+         offset %= span;
+
+      if (offset < 0.0)
+         offset += span;
+      else if (offset >= span)
+         offset -= span;
+      // The rounding of the sum can end up past the max.
+      return Math.min(min + offset, max);
+   }
+
+   /**
+    * Computes {@code x} modulo {@code n} where {@code n} is an unsigned long, the result is an
+    * unsigned long in [0, n).
+    */
+   private static long floorMod(long x, long n)
+   {
+      if (x >= 0L)
+         return Long.remainderUnsigned(x, n);
+
+      // -Long.MIN_VALUE is Long.MIN_VALUE, which is the correct magnitude when read as unsigned.
+      long remainder = Long.remainderUnsigned(-x, n);
+      return remainder == 0L ? 0L : n - remainder;
+   }
+
+   /**
+    * Computes {@code (x + y) mod n} for the unsigned longs {@code x, y} in [0, n).
+    */
+   private static long addMod(long x, long y, long n)
+   {
+      long gap = n - y;
+      return Long.compareUnsigned(x, gap) >= 0 ? x - gap : x + y;
+   }
+
+   /**
+    * Computes {@code (x - y) mod n} for the unsigned longs {@code x, y} in [0, n).
+    */
+   private static long subtractMod(long x, long y, long n)
+   {
+      return Long.compareUnsigned(x, y) >= 0 ? x - y : x - y + n;
+   }
+
+   /**
+    * Computes {@code (x * y) mod n} for the unsigned longs {@code x, y} in [0, n), in at most 64
+    * iterations.
+    */
+   private static long multiplyMod(long x, long y, long n)
+   {
+      // The product fits in 62 bits.
+      if (((x | y) >>> 31) == 0L)
+         return Long.remainderUnsigned(x * y, n);
+
+      long result = 0L;
+
+      while (y != 0L)
+      {
+         if ((y & 1L) != 0L)
+            result = addMod(result, x, n);
+         x = addMod(x, x, n);
+         y >>>= 1;
+      }
+
+      return result;
+   }
+}
@@ -0,0 +1,95 @@
+package us.ihmc.javaFXExtensions.control;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+/**
+ * Applies the values submitted from any thread to the spinner value factories once per pulse.
+ * <p>
+ * A factory is queued at most once between two pulses no matter how many values it receives, see
+ * {@link LongSpinnerValueFactory#submitValue(long)}. A single timer drains the queue for all the
+ * factories and only runs while values are pending.
+ * </p>
+ */
+final class SpinnerValueCoalescer
+{
+   /**
+    * Implemented by the helpers of the factories which values can be submitted from any thread, see
+    * {@link SpinnerValueFactoryHelper}.
+    */
+   interface Coalesced
+   {
+      /**
+       * Called on the JavaFX Application Thread to apply the latest value submitted.
+       */
+      void applySubmittedValue();
+   }
+
+   private static final SpinnerValueCoalescer INSTANCE = new SpinnerValueCoalescer();
+
+   private final Queue<Coalesced> pendingFactories = new ConcurrentLinkedQueue<>();
+   private final AtomicBoolean active = new AtomicBoolean(false);
+
+   private final AnimationTimer pulseTimer = new AnimationTimer()
+   {
+      @Override
+      public void handle(long now)
+      {
+         pulse();
+      }
+   };
+
+   static SpinnerValueCoalescer getInstance()
+   {
+      return INSTANCE;
+   }
+
+   private SpinnerValueCoalescer()
+   {
+   }
+
+   /**
+    * Queues a factory to be updated on the next pulse, can be called from any thread.
+    * <p>
+    * The caller is responsible for not queuing the same factory again until it is applied.
+    * </p>
+    */
+   void enqueue(Coalesced factory)
+   {
+      pendingFactories.add(factory);
+
+      // Only the first value of a burst goes through runLater, the timer then runs until the queue is empty.
+      if (active.compareAndSet(false, true))
+         Platform.runLater(pulseTimer::start);
+   }
+
+   /**
+    * @return whether the timer is running or about to be started, i.e. whether values are pending.
+    */
+   boolean isActive()
+   {
+      return active.get();
+   }
+
+   private void pulse()
+   {
+      Coalesced factory;
+
+      while ((factory = pendingFactories.poll()) != null)
+      {
+         factory.applySubmittedValue();
+      }
+
+      active.set(false);
+
+      // A factory may have been queued after the queue was drained but before the timer was deactivated.
+      if (!pendingFactories.isEmpty() && active.compareAndSet(false, true))
+         return;
+
+      pulseTimer.stop();
+   }
+}
@@ -0,0 +1,134 @@
+package us.ihmc.javaFXExtensions.control;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import javafx.scene.control.SpinnerValueFactory;
+
+/**
+ * Logic shared by the spinner value factories of this package, such that they all step, accelerate,
+ * accept submitted values, and update their boxed value the same way.
+ * <p>
+ * Each factory owns one instance, which is only accessed from the JavaFX Application Thread except
+ * for {@link #submit(long)}.
+ * </p>
+ *
+ * @param <T> the type of the boxed value of the factory.
+ */
+final class SpinnerValueFactoryHelper<T> implements SpinnerValueCoalescer.Coalesced
+{
+   private final SpinnerValueFactory<T> factory;
+   private final StepAccelerator accelerator = new StepAccelerator();
+   /** Set while the boxed value is being updated from the primitive value. */
+   private boolean updatingBoxedValue = false;
+
+   // Latest value submitted from any thread as raw bits, applied once per pulse.
+   private final LongConsumer submittedValueApplier;
+   private final AtomicLong submittedValueBits = new AtomicLong();
+   private final AtomicBoolean submitPending = new AtomicBoolean(false);
+
+   /**
+    * Creates a helper for a factory which values cannot be submitted from other threads.
+    *
+    * @param factory the factory using this helper.
+    */
+   SpinnerValueFactoryHelper(SpinnerValueFactory<T> factory)
+   {
+      this(factory, null);
+   }
+
+   /**
+    * Creates a new helper.
+    *
+    * @param factory               the factory using this helper.
+    * @param submittedValueApplier called on the JavaFX Application Thread with the bits of the latest
+    *                              value {@link #submit(long) submitted}.
+    */
+   SpinnerValueFactoryHelper(SpinnerValueFactory<T> factory, LongConsumer submittedValueApplier)
+   {
+      this.factory = factory;
+      this.submittedValueApplier = submittedValueApplier;
+   }
+
+   /**
+    * Registers a step requested by the user and computes the number of steps to actually take, see
+    * {@link StepAccelerator#accelerate(long, SpinnerAcceleration)}.
+    */
+   long accelerate(long steps, SpinnerAcceleration acceleration)
+   {
+      return accelerator.accelerate(steps, acceleration);
+   }
+
+   /**
+    * Steps through the values in [min, max], wrapping around at the bounds when the factory
+    * {@link SpinnerValueFactory#isWrapAround() wraps around}.
+    */
+   long step(long value, long amountToStepBy, long steps, long min, long max)
+   {
+      if (factory.isWrapAround())
+         return SpinnerStepping.wrapStep(value, amountToStepBy, steps, min, max);
+      else
+         return SpinnerStepping.step(value, amountToStepBy, steps, min, max);
+   }
+
+   /**
+    * Steps through the values in [min, max], wrapping around at the bounds when the factory
+    * {@link SpinnerValueFactory#isWrapAround() wraps around}.
+    */
+   double step(double value, double amountToStepBy, long steps, double min, double max)
+   {
+      if (factory.isWrapAround())
+         return SpinnerStepping.wrapStep(value, amountToStepBy, steps, min, max);
+      else
+         return SpinnerStepping.step(value, amountToStepBy, steps, min, max);
+   }
+
+   /**
+    * @return whether the boxed value of the factory is being set by {@link #setBoxedValue(Object)},
+    *         in which case its listener should not update the primitive value.
+    */
+   boolean isUpdatingBoxedValue()
+   {
+      return updatingBoxedValue;
+   }
+
+   /**
+    * Sets the boxed value of the factory from its primitive value.
+    */
+   void setBoxedValue(T value)
+   {
+      updatingBoxedValue = true;
+      try
+      {
+         factory.setValue(value);
+      }
+      finally
+      {
+         updatingBoxedValue = false;
+      }
+   }
+
+   /**
+    * Submits a new value, can be called from any thread at any rate. Only the latest value submitted
+    * before a pulse is passed to the applier.
+    *
+    * @param valueBits the value as a long or as the raw bits of a double.
+    */
+   void submit(long valueBits)
+   {
+      submittedValueBits.set(valueBits);
+
+      if (submitPending.compareAndSet(false, true))
+         SpinnerValueCoalescer.getInstance().enqueue(this);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void applySubmittedValue()
+   {
+      // Cleared first so a value submitted from now on is applied on the next pulse.
+      submitPending.set(false);
+      submittedValueApplier.accept(submittedValueBits.get());
+   }
+}
@@ -0,0 +1,65 @@
+package us.ihmc.javaFXExtensions.control;
+
+/**
+ * Keeps track of the bursts of steps of a spinner value factory to apply a
+ * {@link SpinnerAcceleration}.
+ */
+final class StepAccelerator
+{
+   private boolean inBurst = false;
+   private boolean burstUp;
+   private long burstStartTime;
+   private long lastStepTime;
+   private long repeatCount;
+
+   /**
+    * Registers a new step and computes the number of steps to actually take.
+    *
+    * @param steps        the number of steps requested, negative to step down.
+    * @param acceleration the acceleration curve, {@code null} to disable the acceleration.
+    * @return the accelerated number of steps.
+    */
+   long accelerate(long steps, SpinnerAcceleration acceleration)
+   {
+      return accelerate(steps, acceleration, System.nanoTime());
+   }
+
+   /**
+    * Registers a new step and computes the number of steps to actually take.
+    *
+    * @param steps        the number of steps requested, negative to step down.
+    * @param acceleration the acceleration curve, {@code null} to disable the acceleration.
+    * @param now          the current time in nanoseconds.
+    * @return the accelerated number of steps.
+    */
+   long accelerate(long steps, SpinnerAcceleration acceleration, long now)
+   {
+      if (acceleration == null || steps == 0L)
+      {
+         inBurst = false;
+         return steps;
+      }
+
+      boolean up = steps > 0L;
+
+      if (!inBurst || up != burstUp || now - lastStepTime > acceleration.getRepeatTimeout())
+      {
+         inBurst = true;
+         burstUp = up;
+         burstStartTime = now;
+         repeatCount = 0L;
+      }
+      else
+      {
+         repeatCount++;
+      }
+
+      lastStepTime = now;
+      double multiplier = acceleration.getStepMultiplier(now - burstStartTime, repeatCount);
+
+      if (!(multiplier > 1.0))
+         return steps;
+      // Saturates to the range of long.
+      return Math.round(steps * multiplier);
+   }
+}
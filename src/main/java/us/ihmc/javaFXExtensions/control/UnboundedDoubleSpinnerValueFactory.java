@@ -2,7 +2,9 @@ package us.ihmc.javaFXExtensions.control;
 
 import javafx.beans.NamedArg;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.control.SpinnerValueFactory;
 import javafx.util.converter.DoubleStringConverter;
 
@@ -18,8 +20,10 @@ import javafx.util.converter.DoubleStringConverter;
  * {@link javafx.util.converter.DoubleStringConverter} instance.
  * </p>
  */
-public class UnboundedDoubleSpinnerValueFactory extends SpinnerValueFactory<Double>
+public class UnboundedDoubleSpinnerValueFactory extends SpinnerValueFactory<Double> implements AcceleratedSpinnerValueFactory
 {
+   private final SpinnerValueFactoryHelper<Double> helper = new SpinnerValueFactoryHelper<>(this, this::applySubmittedValue);
+
    /**
     * Constructs a new DoubleSpinnerValueFactory that sets the initial value to be equal to the min
     * value, and a default {@code amountToStepBy} of one.
@@ -187,56 +191,97 @@ public class UnboundedDoubleSpinnerValueFactory extends SpinnerValueFactory<Doub
       return amountToStepBy;
    }
 
+   // --- acceleration
+   private final ObjectProperty<SpinnerAcceleration> acceleration = new SimpleObjectProperty<>(this, "acceleration");
+
+   public final void setAcceleration(SpinnerAcceleration value)
+   {
+      acceleration.set(value);
+   }
+
+   public final SpinnerAcceleration getAcceleration()
+   {
+      return acceleration.get();
+   }
+
    /** {@inheritDoc} */
    @Override
-   public void decrement(int steps)
+   public final ObjectProperty<SpinnerAcceleration> accelerationProperty()
+   {
+      return acceleration;
+   }
+
+   /**
+    * Submits a new value for this factory, can be called from any thread at any rate.
+    * <p>
+    * Only the latest value submitted before a pulse is applied: it is clamped to the current
+    * [{@link #getMin() min}, {@link #getMax() max}] range and set once on the JavaFX Application
+    * Thread, such that the spinner is updated at most once per pulse.
+    * </p>
+    *
+    * @param value the new value.
+    */
+   public void submitValue(double value)
    {
-      double currentValue = getValue();
-      double min = getMin();
-      double max = getMax();
-      double amountToStepBy = getAmountToStepBy();
-      double newValue = currentValue - amountToStepBy * steps;
+      helper.submit(Double.doubleToRawLongBits(value));
+   }
+
+   private void applySubmittedValue(long submittedValueBits)
+   {
+      double value = Double.longBitsToDouble(submittedValueBits);
+
+      // Comparisons rather than Math.min/max so NaN is kept, like with setValue.
+      if (value < getMin())
+         value = getMin();
+      else if (value > getMax())
+         value = getMax();
+
+      Double currentValue = getValue();
 
-      if (newValue >= min)
-         setValue(newValue);
-      else if (isWrapAround())
-         setValue(wrapValue(newValue, min, max));
-      else
-         setValue(min);
+      if (currentValue == null || Double.compare(currentValue.doubleValue(), value) != 0)
+         setValue(value);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void decrement(int steps)
+   {
+      step(-(long) steps);
    }
 
    /** {@inheritDoc} */
    @Override
    public void increment(int steps)
    {
-      double currentValue = getValue();
-      double min = getMin();
-      double max = getMax();
-      double amountToStepBy = getAmountToStepBy();
-      double newValue = currentValue + amountToStepBy * steps;
+      step(steps);
+   }
 
-      if (newValue <= max)
-         setValue(newValue);
-      else if (isWrapAround())
-         setValue(wrapValue(newValue, min, max));
-      else
-         setValue(max);
+   /** {@inheritDoc} */
+   @Override
+   public void decrementAccelerated(int steps)
+   {
+      step(helper.accelerate(-(long) steps, getAcceleration()));
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void incrementAccelerated(int steps)
+   {
+      step(helper.accelerate(steps, getAcceleration()));
+   }
+
+   private void step(long steps)
+   {
+      setValue(helper.step(getValue().doubleValue(), getAmountToStepBy(), steps, getMin(), getMax()));
    }
 
    /*
     * Convenience method to support wrapping values around their min / max constraints. Used by the
-    * SpinnerValueFactory implementations when the Spinner wrapAround property is true.
+    * SpinnerValueFactory implementations when the Spinner wrapAround property is true. Values that
+    * are a multiple of max - min apart are wrapped to the same value.
     */
    static double wrapValue(double value, double min, double max)
    {
-      if (max == 0.0)
-         throw new RuntimeException();
-
-      if (value < min)
-         return max;
-      else if (value > max)
-         return min;
-      else
-         return value;
+      return SpinnerStepping.wrap(value, min, max);
    }
 }
@@ -0,0 +1,116 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class CompressedHistorySeriesTest
+{
+   @Test
+   public void testSamplesOverrunBetweenUpdatesAreCompressed()
+   {
+      CompressedHistorySeries series = new CompressedHistorySeries("test", 100);
+      long sampleCount = 0L;
+
+      // More samples than the capacity between updates, but less than the staging buffer length.
+      for (int update = 0; update < 50; update++)
+      {
+         for (int i = 0; i < 120; i++)
+         {
+            series.append(sampleCount, -sampleCount);
+            sampleCount++;
+         }
+         series.update();
+      }
+
+      assertEquals(sampleCount, series.size());
+      assertEquals(sampleCount - 100L, series.getCompressedSize());
+
+      for (int index = 0; index < series.size(); index++)
+      {
+         assertEquals(index, series.getX(index), "x at index " + index);
+         assertEquals(-index, series.getY(index), "y at index " + index);
+      }
+   }
+
+   @Test
+   public void testDiscardOldestBlockIgnoresNaN()
+   {
+      CompressedHistorySeries series = new CompressedHistorySeries("test", 10);
+      int blockCount = 3;
+
+      for (int i = 0; i < blockCount * CompressedSampleBlock.CAPACITY + 10; i++)
+      {
+         series.append(i, i % 7 == 0 ? Double.NaN : i);
+         series.update();
+      }
+
+      series.discardOldestBlock();
+
+      assertEquals(CompressedSampleBlock.CAPACITY, series.getMinX());
+      assertEquals(CompressedSampleBlock.CAPACITY, series.getMinY());
+      assertEquals(blockCount * CompressedSampleBlock.CAPACITY + 9, series.getMaxY());
+   }
+
+   @Test
+   public void testBlockSummaryDecimation()
+   {
+      CompressedHistorySeries series = new CompressedHistorySeries("test", 500);
+      int sampleCount = 40 * CompressedSampleBlock.CAPACITY;
+      double[] x = new double[sampleCount];
+      double[] y = new double[sampleCount];
+
+      for (int i = 0; i < sampleCount; i++)
+      {
+         x[i] = 0.001 * i;
+         y[i] = i % 501 == 0 ? Double.NaN : Math.sin(0.0003 * i) + 0.1 * Math.sin(0.37 * i);
+         series.append(x[i], y[i]);
+         series.update();
+      }
+      assertEquals(sampleCount, series.size());
+
+      DynamicSeries reference = new DynamicSeries("reference")
+      {
+         @Override
+         public int size()
+         {
+            return sampleCount;
+         }
+
+         @Override
+         public double getX(int index)
+         {
+            return x[index];
+         }
+
+         @Override
+         public double getY(int index)
+         {
+            return y[index];
+         }
+      };
+
+      DynamicAxisTransform xTransform = new DynamicAxisTransform();
+      DynamicAxisTransform yTransform = new DynamicAxisTransform();
+      yTransform.set(0.0, 100.0, -50.0);
+
+      // From blocks much narrower than a pixel to blocks spanning several pixels.
+      for (double width : new double[] {10.0, 37.0, 300.0, 1000.0})
+      {
+         xTransform.set(0.0, 0.0, width / x[sampleCount - 1]);
+         DynamicSeriesDecimator expected = new DynamicSeriesDecimator();
+         DynamicSeriesDecimator actual = new DynamicSeriesDecimator();
+         int from = 3;
+         int to = sampleCount - 7;
+         int expectedSize = expected.decimate(reference, from, to, xTransform, yTransform, width, DecimationMode.MIN_MAX);
+         int actualSize = actual.decimate(series, from, to, xTransform, yTransform, width, DecimationMode.MIN_MAX);
+
+         assertEquals(expectedSize, actualSize, "width: " + width);
+         assertArrayEquals(Arrays.copyOf(expected.getXDisplay(), expectedSize), Arrays.copyOf(actual.getXDisplay(), actualSize), "width: " + width);
+         assertArrayEquals(Arrays.copyOf(expected.getYDisplay(), expectedSize), Arrays.copyOf(actual.getYDisplay(), actualSize), "width: " + width);
+      }
+   }
+}
@@ -0,0 +1,139 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CompressedSampleBlockTest
+{
+   @Test
+   public void testEvenlySpacedRoundTrip()
+   {
+      double[] x = new double[CompressedSampleBlock.CAPACITY];
+      double[] y = new double[CompressedSampleBlock.CAPACITY];
+
+      for (int i = 0; i < x.length; i++)
+      {
+         x[i] = 1000.0 + 0.001 * i;
+         y[i] = Math.sin(0.01 * i);
+      }
+
+      CompressedSampleBlock block = assertRoundTrip(x, y, x.length);
+      // Evenly spaced x-coordinates and a slow signal compress well.
+      assertTrue(block.getMemoryUsage() < 16L * x.length, "Memory usage: " + block.getMemoryUsage());
+   }
+
+   @Test
+   public void testRandomRoundTrip()
+   {
+      Random random = new Random(4526L);
+
+      for (int iteration = 0; iteration < 200; iteration++)
+      {
+         int size = 1 + random.nextInt(CompressedSampleBlock.CAPACITY);
+         double[] x = new double[size];
+         double[] y = new double[size];
+         double time = random.nextDouble() * 1.0e6;
+
+         for (int i = 0; i < size; i++)
+         {
+            // Mix of regular and irregular steps, and of smooth and arbitrary values.
+            time += random.nextBoolean() ? 0.01 : random.nextDouble() * Math.pow(10.0, random.nextInt(12) - 6);
+            x[i] = time;
+            y[i] = random.nextInt(4) == 0 ? Double.longBitsToDouble(random.nextLong()) : Math.round(random.nextGaussian() * 100.0) / 100.0;
+         }
+
+         assertRoundTrip(x, y, size);
+      }
+   }
+
+   @Test
+   public void testSpecialValuesRoundTrip()
+   {
+      double[] values = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE,
+            1.0, Double.longBitsToDouble(0x7ff8dead0000beefL)};
+      double[] x = new double[values.length * values.length];
+      double[] y = new double[x.length];
+
+      for (int i = 0; i < values.length; i++)
+      {
+         for (int j = 0; j < values.length; j++)
+         {
+            x[i * values.length + j] = values[i];
+            y[i * values.length + j] = values[j];
+         }
+      }
+
+      CompressedSampleBlock block = assertRoundTrip(x, y, x.length);
+      assertFalse(block.isSortedByX());
+   }
+
+   @Test
+   public void testSummary()
+   {
+      double[] x = {0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0};
+      double[] y = {Double.NaN, 2.0, -1.0, 5.0, -1.0, 5.0, 3.0};
+      CompressedSampleBlock block = assertRoundTrip(x, y, x.length);
+
+      assertTrue(block.isSortedByX());
+      assertEquals(0.0, block.getFirstX());
+      assertTrue(Double.isNaN(block.getFirstY()));
+      assertEquals(6.0, block.getLastX());
+      assertEquals(3.0, block.getLastY());
+      // NaN values are ignored, the first occurrences of the extrema are kept.
+      assertEquals(-1.0, block.getMinY());
+      assertEquals(2, block.getMinYIndex());
+      assertEquals(2.0, block.getMinYX());
+      assertEquals(5.0, block.getMaxY());
+      assertEquals(3, block.getMaxYIndex());
+      assertEquals(3.0, block.getMaxYX());
+
+      CompressedSampleBlock nanBlock = new CompressedSampleBlock();
+      nanBlock.add(0.0, Double.NaN);
+      nanBlock.add(1.0, Double.NaN);
+      assertEquals(-1, nanBlock.getMinYIndex());
+      assertEquals(-1, nanBlock.getMaxYIndex());
+      assertEquals(Double.POSITIVE_INFINITY, nanBlock.getMinY());
+      assertEquals(Double.NEGATIVE_INFINITY, nanBlock.getMaxY());
+   }
+
+   private static CompressedSampleBlock assertRoundTrip(double[] x, double[] y, int size)
+   {
+      CompressedSampleBlock block = new CompressedSampleBlock();
+
+      for (int i = 0; i < size; i++)
+      {
+         block.add(x[i], y[i]);
+      }
+
+      assertEquals(size, block.size());
+      assertEquals(size == CompressedSampleBlock.CAPACITY, block.isFull());
+      assertDecoded(block, x, y, size);
+
+      if (block.isFull())
+      {
+         block.trim();
+         assertDecoded(block, x, y, size);
+      }
+
+      return block;
+   }
+
+   private static void assertDecoded(CompressedSampleBlock block, double[] x, double[] y, int size)
+   {
+      double[] decodedX = new double[CompressedSampleBlock.CAPACITY];
+      double[] decodedY = new double[CompressedSampleBlock.CAPACITY];
+      block.decode(decodedX, decodedY);
+
+      for (int i = 0; i < size; i++)
+      {
+         // The encoding is lossless, down to the bits of NaN values.
+         assertEquals(Double.doubleToRawLongBits(x[i]), Double.doubleToRawLongBits(decodedX[i]), "x at index " + i);
+         assertEquals(Double.doubleToRawLongBits(y[i]), Double.doubleToRawLongBits(decodedY[i]), "y at index " + i);
+      }
+   }
+}
@@ -0,0 +1,205 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.DoubleBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class DoubleRingBufferSeriesTest
+{
+   @Test
+   public void testAppendAndEvict()
+   {
+      DoubleRingBufferSeries series = new DoubleRingBufferSeries("test", 100);
+
+      for (int i = 0; i < 250; i++)
+      {
+         series.append(i, -i);
+      }
+
+      assertTrue(series.hasPendingData());
+      assertTrue(series.update());
+      assertFalse(series.hasPendingData());
+      assertFalse(series.update());
+
+      assertEquals(100, series.size());
+      assertEquals(250L, series.getSampleCount());
+      assertSamples(series);
+      assertEquals(150.0, series.getMinX());
+      assertEquals(249.0, series.getMaxX());
+      assertEquals(-249.0, series.getMinY());
+      assertEquals(-150.0, series.getMaxY());
+   }
+
+   @Test
+   public void testRacingProducer() throws Exception
+   {
+      // Small capacity such that the producer keeps lapping the consumer.
+      DoubleRingBufferSeries series = new DoubleRingBufferSeries("test", 100);
+      long sampleCount = 20000000L;
+      AtomicBoolean done = new AtomicBoolean(false);
+
+      Thread producer = new Thread(() ->
+      {
+         for (long i = 0; i < sampleCount; i++)
+         {
+            series.append(i, -i);
+         }
+         done.set(true);
+      }, "producer");
+      producer.start();
+
+      int updateCount = 0;
+
+      while (!done.get() || series.hasPendingData())
+      {
+         if (series.update())
+            updateCount++;
+         assertSamples(series);
+      }
+
+      producer.join();
+      assertTrue(updateCount > 0);
+      assertEquals(sampleCount, series.getSampleCount());
+      assertEquals((double) (sampleCount - 1L), series.getX(series.size() - 1));
+   }
+
+   @Test
+   public void testRacingBatchProducer() throws Exception
+   {
+      // The batches are larger than the staging buffer.
+      DoubleRingBufferSeries series = new DoubleRingBufferSeries("test", 100);
+      int batchSize = 300;
+      long sampleCount = 300L * 50000L;
+      AtomicBoolean done = new AtomicBoolean(false);
+
+      Thread producer = new Thread(() ->
+      {
+         double[] x = new double[batchSize];
+         double[] y = new double[batchSize];
+
+         for (long i = 0; i < sampleCount; i += batchSize)
+         {
+            for (int j = 0; j < batchSize; j++)
+            {
+               x[j] = i + j;
+               y[j] = -(i + j);
+            }
+            if ((i / batchSize) % 2 == 0)
+               series.append(x, y);
+            else
+               series.append(DoubleBuffer.wrap(x), DoubleBuffer.wrap(y));
+         }
+         done.set(true);
+      }, "producer");
+      producer.start();
+
+      while (!done.get() || series.hasPendingData())
+      {
+         series.update();
+         assertSamples(series);
+      }
+
+      producer.join();
+      assertEquals(sampleCount, series.getSampleCount());
+      assertEquals(100, series.size());
+      assertSamples(series);
+   }
+
+   @Test
+   public void testBatchPublishedAtOnce() throws Exception
+   {
+      // A power-of-two capacity, the batches up to the capacity are still published at once.
+      DoubleRingBufferSeries series = new DoubleRingBufferSeries("test", 1024);
+      int batchSize = 1024;
+      long sampleCount = 1024L * 20000L;
+      AtomicBoolean done = new AtomicBoolean(false);
+
+      Thread producer = new Thread(() ->
+      {
+         double[] x = new double[batchSize];
+         double[] y = new double[batchSize];
+
+         for (long i = 0; i < sampleCount; i += batchSize)
+         {
+            for (int j = 0; j < batchSize; j++)
+            {
+               x[j] = i + j;
+               y[j] = -(i + j);
+            }
+            series.append(x, y);
+         }
+         done.set(true);
+      }, "producer");
+      producer.start();
+
+      while (!done.get() || series.hasPendingData())
+      {
+         series.update();
+         assertEquals(0L, series.getSampleCount() % batchSize, "Partial batch published");
+         assertSamples(series);
+      }
+
+      producer.join();
+      assertEquals(sampleCount, series.getSampleCount());
+      assertEquals(1024, series.size());
+   }
+
+   @Test
+   public void testAppendWithOffsets()
+   {
+      DoubleRingBufferSeries series = new DoubleRingBufferSeries("test", 100);
+      double[] x = new double[300];
+      double[] y = new double[310];
+
+      for (int i = 0; i < 300; i++)
+      {
+         x[i] = i;
+         y[i + 10] = -i;
+      }
+
+      series.append(x, 0, y, 10, 250);
+      series.update();
+      assertEquals(250L, series.getSampleCount());
+      assertSamples(series);
+
+      // The timestamps are converted, the y-coordinates read at the same offset.
+      TimeSeries timeSeries = new TimeSeries("time", 100, 1000000000000L);
+      long[] time = new long[300];
+      for (int i = 0; i < 300; i++)
+      {
+         time[i] = 1000000000000L + i;
+      }
+
+      timeSeries.append(time, y, 10, 250);
+      timeSeries.update();
+      assertEquals(250L, timeSeries.getSampleCount());
+      for (int index = 0; index < 100; index++)
+      {
+         assertEquals(160.0 + index, timeSeries.getX(index));
+         assertEquals(-150.0 - index, timeSeries.getY(index));
+         assertEquals(1000000000160L + index, timeSeries.getTime(index));
+      }
+   }
+
+   /**
+    * Asserts that the visible samples are the consecutive samples ending at the newest one, with x = i
+    * and y = -i.
+    */
+   static void assertSamples(DoubleRingBufferSeries series)
+   {
+      int size = series.size();
+      assertTrue(size >= 0 && size <= series.getCapacity(), "Invalid size: " + size);
+
+      for (int index = 0; index < size; index++)
+      {
+         double expected = series.getSampleCount() - size + index;
+         assertEquals(expected, series.getX(index), "x at index " + index + " of " + size);
+         assertEquals(-expected, series.getY(index), "y at index " + index + " of " + size);
+      }
+   }
+}
@@ -0,0 +1,347 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sun.javafx.application.PlatformImpl;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.chart.NumberAxis;
+import javafx.stage.Stage;
+
+/**
+ * End-to-end performance regression tests of a dashboard made of {@link DynamicLineChart}s fed by
+ * synthetic high-rate signals.
+ * <p>
+ * The tests run headless using Monocle and the software rendering pipeline. For each dashboard, a
+ * window is shown and left running for a fixed number of pulses after a warmup, while recording the
+ * time between pulses, the memory allocated on the JavaFX Application Thread, and the number of
+ * garbage collections. The 99th percentile of the time between pulses, the memory allocated per
+ * pulse, and the number of garbage collections are checked against the budgets stored in
+ * {@code dashboard-budgets.properties}, any of which can be overridden with the system property
+ * {@code dashboard.performance.<key>}. Every measurement is reported in the assertion messages.
+ * </p>
+ * <p>
+ * The committed budgets are fixed ceilings, generous enough for a CI machine, not measurements of a
+ * particular machine. Running the tests with the system property
+ * {@value #RECORD_PROPERTY}{@code =<file>} records instead the measurements of the machine, plus some
+ * headroom, as budgets in the given file, which can then replace the committed one.
+ * </p>
+ * <p>
+ * The Monocle test dependency is the one built for JavaFX 8, it has to be changed along with the
+ * JDK used to build this project.
+ * </p>
+ */
+@Tag("performance")
+public class DynamicChartDashboardPerformanceTest
+{
+   private static final String BUDGETS_FILE = "dashboard-budgets.properties";
+   private static final String PROPERTY_PREFIX = "dashboard.performance.";
+   private static final String RECORD_PROPERTY = "dashboard.performance.record";
+   /** Factor applied to the measurements when recording them as budgets. */
+   private static final double RECORD_HEADROOM = 1.5;
+
+   private static final int WARMUP_PULSES = 120;
+   private static final int MEASURED_PULSES = 600;
+   private static final int SERIES_CAPACITY = 20000;
+   /** Rate at which the samples are appended to each series, in samples per second. */
+   private static final double SAMPLE_RATE = 5000.0;
+
+   private static Properties budgets;
+
+   @BeforeAll
+   public static void startToolkit() throws Exception
+   {
+      System.setProperty("glass.platform", "Monocle");
+      System.setProperty("monocle.platform", "Headless");
+      System.setProperty("prism.order", "sw");
+      System.setProperty("prism.text", "t2k");
+      System.setProperty("java.awt.headless", "true");
+
+      CountDownLatch latch = new CountDownLatch(1);
+      PlatformImpl.startup(latch::countDown);
+      latch.await();
+      // The dashboards are shown and hidden one after the other.
+      Platform.setImplicitExit(false);
+
+      budgets = new Properties();
+      try (InputStream stream = DynamicChartDashboardPerformanceTest.class.getResourceAsStream(BUDGETS_FILE))
+      {
+         if (stream == null)
+            throw new IOException("Could not find " + BUDGETS_FILE);
+         budgets.load(stream);
+      }
+   }
+
+   @AfterAll
+   public static void stopToolkit()
+   {
+      Platform.exit();
+   }
+
+   @Test
+   public void testSingleChart() throws Exception
+   {
+      checkBudgets("charts1", runDashboard(1));
+   }
+
+   @Test
+   public void testSixteenCharts() throws Exception
+   {
+      checkBudgets("charts16", runDashboard(16));
+   }
+
+   @Test
+   public void testFortyCharts() throws Exception
+   {
+      checkBudgets("charts40", runDashboard(40));
+   }
+
+   private static DashboardMeasurement runDashboard(int numberOfCharts) throws Exception
+   {
+      DoubleRingBufferSeries[] series = new DoubleRingBufferSeries[numberOfCharts];
+      AtomicReference<Stage> stage = new AtomicReference<>();
+      CountDownLatch shown = new CountDownLatch(1);
+
+      Platform.runLater(() ->
+      {
+         DynamicChartGrid grid = new DynamicChartGrid();
+         grid.setNumberOfColumns(numberOfCharts < 4 ? 1 : 4);
+
+         for (int i = 0; i < numberOfCharts; i++)
+         {
+            DynamicLineChart chart = new DynamicLineChart(new NumberAxis(), new NumberAxis());
+            series[i] = new DoubleRingBufferSeries("signal" + i, SERIES_CAPACITY);
+            chart.getSeries().add(series[i]);
+            grid.getCharts().add(chart);
+         }
+
+         stage.set(new Stage());
+         stage.get().setScene(new Scene(grid, 1600.0, 1000.0));
+         stage.get().show();
+         shown.countDown();
+      });
+      assertTrue(shown.await(10, TimeUnit.SECONDS), "The dashboard was not shown");
+
+      SignalProducer producer = new SignalProducer(series);
+      producer.start();
+
+      try
+      {
+         PulseRecorder recorder = new PulseRecorder();
+         Platform.runLater(recorder::start);
+         long timeout = 10L * (WARMUP_PULSES + MEASURED_PULSES) / 60L + 10L;
+         assertTrue(recorder.done.await(timeout, TimeUnit.SECONDS), "The dashboard did not reach " + MEASURED_PULSES + " pulses");
+         return recorder.measurement;
+      }
+      finally
+      {
+         producer.running = false;
+         producer.join();
+         Platform.runLater(() -> stage.get().close());
+      }
+   }
+
+   private static void checkBudgets(String name, DashboardMeasurement measurement) throws IOException
+   {
+      String recordFile = System.getProperty(RECORD_PROPERTY);
+
+      if (recordFile != null)
+      {
+         recordBudgets(Paths.get(recordFile), name, measurement);
+         return;
+      }
+
+      String report = name + ": " + measurement;
+      assertTrue(measurement.frameTimeP99 <= getBudget(name + ".frameTimeP99"),
+                 "99th percentile of the frame time over budget (" + getBudget(name + ".frameTimeP99") + " ms), " + report);
+      assertTrue(measurement.allocatedBytesPerPulse <= getBudget(name + ".allocatedBytesPerPulse"),
+                 "Allocation per pulse over budget (" + getBudget(name + ".allocatedBytesPerPulse") + " bytes), " + report);
+      assertTrue(measurement.gcCount <= getBudget(name + ".gcCount"),
+                 "Garbage collections over budget (" + getBudget(name + ".gcCount") + "), " + report);
+   }
+
+   private static void recordBudgets(Path file, String name, DashboardMeasurement measurement) throws IOException
+   {
+      // The dashboards are recorded one after the other in the same file.
+      Properties recorded = new Properties();
+      if (Files.exists(file))
+      {
+         try (InputStream stream = Files.newInputStream(file))
+         {
+            recorded.load(stream);
+         }
+      }
+
+      recorded.setProperty(name + ".frameTimeP99", Double.toString(Math.ceil(RECORD_HEADROOM * measurement.frameTimeP99)));
+      recorded.setProperty(name + ".allocatedBytesPerPulse", Long.toString((long) Math.ceil(RECORD_HEADROOM * measurement.allocatedBytesPerPulse)));
+      // Small counts fluctuate by one or two between runs.
+      recorded.setProperty(name + ".gcCount", Long.toString((long) Math.ceil(RECORD_HEADROOM * measurement.gcCount) + 2L));
+
+      try (OutputStream stream = Files.newOutputStream(file))
+      {
+         recorded.store(stream, "Budgets recorded by " + DynamicChartDashboardPerformanceTest.class.getSimpleName());
+      }
+   }
+
+   private static double getBudget(String key)
+   {
+      String budget = System.getProperty(PROPERTY_PREFIX + key, budgets.getProperty(key));
+      if (budget == null)
+         throw new IllegalStateException("No budget for " + key + " in " + BUDGETS_FILE);
+      return Double.parseDouble(budget.trim());
+   }
+
+   /**
+    * Results of running a dashboard for {@link #MEASURED_PULSES} pulses.
+    */
+   private static class DashboardMeasurement
+   {
+      /** 99th percentile of the time between two pulses, in milliseconds. */
+      double frameTimeP99;
+      /** Maximum time between two pulses, in milliseconds. */
+      double frameTimeMax;
+      /** Average memory allocated on the JavaFX Application Thread per pulse, in bytes. */
+      double allocatedBytesPerPulse;
+      /** Number of garbage collections, of any kind, that occurred during the measurement. */
+      long gcCount;
+
+      @Override
+      public String toString()
+      {
+         return "frameTimeP99 = " + frameTimeP99 + " ms, frameTimeMax = " + frameTimeMax + " ms, allocatedBytesPerPulse = " + allocatedBytesPerPulse
+               + ", gcCount = " + gcCount;
+      }
+   }
+
+   /**
+    * Records the duration of every pulse once the warmup is over.
+    */
+   private static class PulseRecorder extends AnimationTimer
+   {
+      private final CountDownLatch done = new CountDownLatch(1);
+      private final double[] frameTimes = new double[MEASURED_PULSES];
+      private final DashboardMeasurement measurement = new DashboardMeasurement();
+      private int pulse = 0;
+      private long previousTime;
+      private long startAllocatedBytes;
+      private long startGCCount;
+
+      @Override
+      public void handle(long now)
+      {
+         long time = System.nanoTime();
+
+         if (pulse == WARMUP_PULSES)
+         {
+            startAllocatedBytes = getAllocatedBytes();
+            startGCCount = getGCCount();
+         }
+         else if (pulse > WARMUP_PULSES)
+         {
+            frameTimes[pulse - WARMUP_PULSES - 1] = (time - previousTime) / 1.0e6;
+         }
+
+         previousTime = time;
+         pulse++;
+
+         if (pulse == WARMUP_PULSES + MEASURED_PULSES + 1)
+         {
+            stop();
+            Arrays.sort(frameTimes);
+            measurement.frameTimeP99 = frameTimes[(int) (0.99 * (MEASURED_PULSES - 1))];
+            measurement.frameTimeMax = frameTimes[MEASURED_PULSES - 1];
+            measurement.allocatedBytesPerPulse = (double) (getAllocatedBytes() - startAllocatedBytes) / MEASURED_PULSES;
+            measurement.gcCount = getGCCount() - startGCCount;
+            done.countDown();
+         }
+      }
+
+      private static long getAllocatedBytes()
+      {
+         com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+         return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+
+      private static long getGCCount()
+      {
+         long count = 0L;
+         List<GarbageCollectorMXBean> garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+         for (int i = 0; i < garbageCollectors.size(); i++)
+         {
+            count += Math.max(0L, garbageCollectors.get(i).getCollectionCount());
+         }
+         return count;
+      }
+   }
+
+   /**
+    * Appends samples of a synthetic signal to every series at {@link #SAMPLE_RATE}.
+    */
+   private static class SignalProducer extends Thread
+   {
+      private final DoubleRingBufferSeries[] series;
+      private volatile boolean running = true;
+
+      SignalProducer(DoubleRingBufferSeries[] series)
+      {
+         super("SignalProducer");
+         setDaemon(true);
+         this.series = series;
+      }
+
+      @Override
+      public void run()
+      {
+         long startTime = System.nanoTime();
+         long sampleCount = 0L;
+
+         while (running)
+         {
+            long targetCount = (long) ((System.nanoTime() - startTime) * 1.0e-9 * SAMPLE_RATE);
+
+            for (; sampleCount < targetCount; sampleCount++)
+            {
+               double time = sampleCount / SAMPLE_RATE;
+
+               for (int i = 0; i < series.length; i++)
+               {
+                  // A slow sine with a fast component, different for each series.
+                  double y = Math.sin(2.0 * Math.PI * (0.5 + 0.1 * i) * time) + 0.2 * Math.sin(2.0 * Math.PI * 97.0 * time + i);
+                  series[i].append(time, y);
+               }
+            }
+
+            try
+            {
+               Thread.sleep(1L);
+            }
+            catch (InterruptedException e)
+            {
+               return;
+            }
+         }
+      }
+   }
+}
@@ -0,0 +1,144 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.javafx.application.PlatformImpl;
+
+import javafx.application.Platform;
+
+public class DynamicTimeAxisTest
+{
+   private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1L);
+   private static final long SECOND = TimeUnit.SECONDS.toNanos(1L);
+   private static final long HOUR = TimeUnit.HOURS.toNanos(1L);
+   private static final long DAY = TimeUnit.DAYS.toNanos(1L);
+   private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+   /** 2021-03-28T01:00:00Z, when Paris switches from +01:00 to +02:00. */
+   private static final long PARIS_DST_START = Instant.parse("2021-03-28T01:00:00Z").getEpochSecond() * SECOND;
+
+   @BeforeAll
+   public static void startToolkit() throws Exception
+   {
+      System.setProperty("glass.platform", "Monocle");
+      System.setProperty("monocle.platform", "Headless");
+      System.setProperty("prism.order", "sw");
+
+      CountDownLatch latch = new CountDownLatch(1);
+      try
+      {
+         PlatformImpl.startup(latch::countDown);
+      }
+      catch (IllegalStateException e)
+      {
+         // Already started by another test class.
+         Platform.runLater(latch::countDown);
+      }
+      latch.await();
+   }
+
+   @Test
+   public void testFractionDigits()
+   {
+      DynamicTimeAxis axis = newAxis(0L, ZoneOffset.UTC);
+      long time = 13L * HOUR + 7L * 60L * SECOND + 9L * SECOND + 123456789L;
+
+      assertEquals("1970-01-01", format(axis, time, DAY));
+      assertEquals("13:07", format(axis, time, HOUR));
+      assertEquals("13:07", format(axis, time, 60L * SECOND));
+      assertEquals("13:07:09", format(axis, time, 15L * SECOND));
+      assertEquals("13:07:09.1", format(axis, time, 500L * MILLIS));
+      assertEquals("13:07:09.12", format(axis, time, 20L * MILLIS));
+      assertEquals("13:07:09.123", format(axis, time, MILLIS));
+      assertEquals("13:07:09.1234", format(axis, time, 500000L));
+      assertEquals("13:07:09.123456789", format(axis, time, 1L));
+   }
+
+   @Test
+   public void testBeforeEpoch()
+   {
+      DynamicTimeAxis axis = newAxis(0L, ZoneOffset.UTC);
+
+      assertEquals("1969-12-31", format(axis, -1L, DAY));
+      assertEquals("23:59:59.999999999", format(axis, -1L, 1L));
+      assertEquals("23:59:58.5", format(axis, -1500L * MILLIS, 100L * MILLIS));
+
+      // The ticks are on whole seconds before the epoch as well.
+      axis.setBaseTime(-1500L * MILLIS);
+      assertEquals(-500.0 * MILLIS, axis.computeTickOrigin(SECOND));
+      assertEquals("23:59:58", format(axis, -500.0 * MILLIS, SECOND));
+
+      // The local time of day, -01:00 is the day before in UTC.
+      axis.setZone(ZoneOffset.ofHours(-1));
+      axis.setBaseTime(0L);
+      assertEquals("23:00", format(axis, 0L, HOUR));
+      assertEquals("1969-12-31", format(axis, 0L, DAY));
+   }
+
+   @Test
+   public void testTickOriginInZone()
+   {
+      // 2021-01-01T00:30:00Z, 01:30 in Paris.
+      long baseTime = Instant.parse("2021-01-01T00:30:00Z").getEpochSecond() * SECOND;
+      DynamicTimeAxis axis = newAxis(baseTime, PARIS);
+
+      assertEquals(-1800.0 * SECOND, axis.computeTickOrigin(HOUR));
+      assertEquals("02:00", format(axis, 1800.0 * SECOND, HOUR));
+      // The days start at midnight in Paris, not in UTC.
+      assertEquals(-(HOUR + 1800L * SECOND), axis.computeTickOrigin(DAY));
+      assertEquals(0.0, axis.computeTickOrigin(1L));
+
+      axis.setZone(ZoneOffset.UTC);
+      assertEquals(-1800.0 * SECOND, axis.computeTickOrigin(HOUR));
+      assertEquals(-1800.0 * SECOND, axis.computeTickOrigin(DAY));
+   }
+
+   @Test
+   public void testDaylightSavingTransition()
+   {
+      DynamicTimeAxis axis = newAxis(PARIS_DST_START, PARIS);
+
+      // Back and forth across the transition, the cached offset is only used on its side.
+      assertEquals("03:00:00", format(axis, 0L, SECOND));
+      assertEquals("01:59:59", format(axis, -SECOND, SECOND));
+      assertEquals("03:00:00", format(axis, 0L, SECOND));
+      assertEquals("01:59:59.999", format(axis, -MILLIS, MILLIS));
+      assertEquals("03:00:01", format(axis, SECOND, SECOND));
+      assertEquals("01:00:00", format(axis, -HOUR, SECOND));
+
+      // The previous transition in the fall, +02:00 before it.
+      long fall = Instant.parse("2020-10-25T01:00:00Z").getEpochSecond() * SECOND;
+      assertEquals("02:59:59", format(axis, axis.toValue(fall - SECOND), SECOND));
+      assertEquals("02:00:00", format(axis, axis.toValue(fall), SECOND));
+      assertEquals("03:00:00", format(axis, 0L, SECOND));
+
+      // Changing the zone invalidates the cached offset.
+      axis.setZone(ZoneOffset.UTC);
+      assertEquals("01:00:00", format(axis, 0L, SECOND));
+      axis.setZone(null);
+      assertEquals("01:00:00", format(axis, 0L, SECOND));
+   }
+
+   private static DynamicTimeAxis newAxis(long baseTime, ZoneId zone)
+   {
+      DynamicTimeAxis axis = new DynamicTimeAxis(baseTime);
+      axis.setAutoRanging(false);
+      axis.setZone(zone);
+      return axis;
+   }
+
+   private static String format(DynamicTimeAxis axis, double value, double tickUnit)
+   {
+      StringBuilder output = new StringBuilder();
+      axis.formatTickLabel(value, tickUnit, output);
+      return output.toString();
+   }
+}
@@ -0,0 +1,85 @@
+package us.ihmc.javaFXExtensions.chart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.javaFXExtensions.chart.StreamingSeries.BackpressurePolicy;
+
+public class StreamingSeriesTest
+{
+   @Test
+   public void testBoundedUpdateBeforeSubscribe()
+   {
+      StreamingSeries<double[]> series = new StreamingSeries<>("stream", 100, item -> item[0], item -> item[1], BackpressurePolicy.BOUNDED);
+      AtomicLong requested = new AtomicLong();
+
+      // The chart lays out the series before the publisher subscribes it.
+      for (int i = 0; i < 3; i++)
+      {
+         assertFalse(series.update());
+      }
+
+      series.onSubscribe(requested::addAndGet, () ->
+      {
+      });
+      assertEquals(100L, requested.get());
+
+      // The demand is renewed once the chart consumed at least half of it.
+      for (int i = 0; i < 40; i++)
+      {
+         series.onNext(new double[] {i, i});
+      }
+      assertTrue(series.update());
+      assertEquals(100L, requested.get());
+
+      for (int i = 40; i < 100; i++)
+      {
+         series.onNext(new double[] {i, i});
+      }
+      assertTrue(series.update());
+      assertEquals(200L, requested.get());
+      assertEquals(100, series.size());
+   }
+
+   @Test
+   public void testBoundedSubscribeFromOtherThread() throws InterruptedException
+   {
+      StreamingSeries<double[]> series = new StreamingSeries<>("stream", 64, item -> item[0], item -> item[1], BackpressurePolicy.BOUNDED);
+      AtomicLong requested = new AtomicLong();
+
+      Thread publisher = new Thread(() ->
+      {
+         series.onSubscribe(requested::addAndGet, () ->
+         {
+         });
+
+         // Honors the demand, such that no item is ever discarded.
+         for (int i = 0; i < 10000; i++)
+         {
+            while (i >= requested.get())
+               Thread.yield();
+            series.onNext(new double[] {i, i});
+         }
+         series.onComplete();
+      });
+      publisher.start();
+
+      long deadline = System.nanoTime() + 10000000000L;
+
+      while (!series.isTerminated() || series.hasPendingData())
+      {
+         series.update();
+         assertTrue(System.nanoTime() < deadline, "The publisher did not complete");
+      }
+
+      publisher.join();
+      series.update();
+      assertEquals(10000L, series.getAppendedCount());
+      assertEquals(9999.0, series.getX(series.size() - 1));
+   }
+}
@@ -0,0 +1,200 @@
+package us.ihmc.javaFXExtensions.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.javafx.application.PlatformImpl;
+import com.sun.javafx.event.EventUtil;
+
+import javafx.application.Platform;
+import javafx.event.EventType;
+import javafx.scene.Node;
+import javafx.scene.control.Spinner;
+import javafx.scene.control.SpinnerValueFactory.IntegerSpinnerValueFactory;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.PickResult;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.StackPane;
+
+/**
+ * Tests {@link SpinnerAccelerationHandler} by firing input events directly at the spinner, headless
+ * using Monocle.
+ */
+public class SpinnerAccelerationHandlerTest
+{
+   private static final SpinnerAcceleration DOUBLING = SpinnerAcceleration.perRepeat(2.0, 1000.0);
+
+   @BeforeAll
+   public static void startToolkit() throws Exception
+   {
+      System.setProperty("glass.platform", "Monocle");
+      System.setProperty("monocle.platform", "Headless");
+      System.setProperty("prism.order", "sw");
+
+      CountDownLatch latch = new CountDownLatch(1);
+      try
+      {
+         PlatformImpl.startup(latch::countDown);
+      }
+      catch (IllegalStateException e)
+      {
+         // Already started by another test class.
+         Platform.runLater(latch::countDown);
+      }
+      latch.await();
+   }
+
+   @Test
+   public void testArrowKeys() throws Exception
+   {
+      long value = callOnFX(() ->
+      {
+         Spinner<Long> spinner = newSpinner();
+         for (int i = 0; i < 5; i++)
+         {
+            assertTrue(fireKey(spinner, KeyCode.UP));
+         }
+         // Not the keys of vertical arrows.
+         assertFalse(fireKey(spinner, KeyCode.LEFT));
+         return spinner.getValue();
+      });
+      // 1 + 2 + 4 + 8 + 16
+      assertEquals(31L, value);
+
+      value = callOnFX(() ->
+      {
+         Spinner<Long> spinner = newSpinner();
+         spinner.getStyleClass().add(Spinner.STYLE_CLASS_SPLIT_ARROWS_HORIZONTAL);
+         assertFalse(fireKey(spinner, KeyCode.UP));
+         assertTrue(fireKey(spinner, KeyCode.RIGHT));
+         assertTrue(fireKey(spinner, KeyCode.RIGHT));
+         // Changing direction starts a new burst.
+         assertTrue(fireKey(spinner, KeyCode.LEFT));
+         return spinner.getValue();
+      });
+      assertEquals(2L, value);
+   }
+
+   @Test
+   public void testScroll() throws Exception
+   {
+      long value = callOnFX(() ->
+      {
+         Spinner<Long> spinner = newSpinner();
+         for (int i = 0; i < 3; i++)
+         {
+            assertTrue(fireScroll(spinner, -40.0));
+         }
+         assertFalse(fireScroll(spinner, 0.0));
+         return spinner.getValue();
+      });
+      assertEquals(-7L, value);
+   }
+
+   @Test
+   public void testHoldArrowButton() throws Exception
+   {
+      Spinner<Long> spinner = callOnFX(() ->
+      {
+         Spinner<Long> newSpinner = newSpinner();
+         // Only the style class of the arrow buttons of the skin matters.
+         StackPane arrowButton = new StackPane();
+         arrowButton.getStyleClass().add("increment-arrow-button");
+         assertTrue(fireMouse(newSpinner, MouseEvent.MOUSE_PRESSED, arrowButton));
+         assertEquals(1L, newSpinner.getValue().longValue());
+         return newSpinner;
+      });
+
+      // The repeated steps double at every repeat.
+      Thread.sleep(600L);
+      long held = callOnFX(() ->
+      {
+         fireMouse(spinner, MouseEvent.MOUSE_RELEASED, spinner);
+         return spinner.getValue();
+      });
+      assertTrue(held >= 7L, "Value after holding: " + held);
+
+      Thread.sleep(200L);
+      assertEquals(held, callOnFX(spinner::getValue).longValue());
+   }
+
+   @Test
+   public void testNotAccelerated() throws Exception
+   {
+      int value = callOnFX(() ->
+      {
+         Spinner<Integer> spinner = new Spinner<>(new IntegerSpinnerValueFactory(0, 100, 0));
+         SpinnerAccelerationHandler.install(spinner);
+         // Left to the default behavior, which is not installed without a skin.
+         assertFalse(fireKey(spinner, KeyCode.UP));
+         return spinner.getValue();
+      });
+      assertEquals(0, value);
+
+      long uninstalledValue = callOnFX(() ->
+      {
+         Spinner<Long> spinner = new Spinner<>();
+         PrimitiveLongSpinnerValueFactory valueFactory = new PrimitiveLongSpinnerValueFactory(-1000L, 1000L, 0L);
+         valueFactory.setAcceleration(DOUBLING);
+         spinner.setValueFactory(valueFactory);
+         SpinnerAccelerationHandler.install(spinner).uninstall();
+         assertFalse(fireKey(spinner, KeyCode.UP));
+         return spinner.getValue();
+      });
+      assertEquals(0L, uninstalledValue);
+   }
+
+   private static Spinner<Long> newSpinner()
+   {
+      Spinner<Long> spinner = new Spinner<>();
+      PrimitiveLongSpinnerValueFactory valueFactory = new PrimitiveLongSpinnerValueFactory(-1000L, 1000L, 0L);
+      valueFactory.setAcceleration(DOUBLING);
+      spinner.setValueFactory(valueFactory);
+      SpinnerAccelerationHandler.install(spinner);
+      return spinner;
+   }
+
+   /**
+    * Fires an event at the spinner, the same for the other methods below.
+    *
+    * @return whether the event was consumed.
+    */
+   private static boolean fireKey(Spinner<?> spinner, KeyCode code)
+   {
+      KeyEvent event = new KeyEvent(KeyEvent.KEY_PRESSED, "", "", code, false, false, false, false);
+      return EventUtil.fireEvent(spinner, event) == null;
+   }
+
+   private static boolean fireScroll(Spinner<?> spinner, double deltaY)
+   {
+      ScrollEvent event = new ScrollEvent(ScrollEvent.SCROLL, 0.0, 0.0, 0.0, 0.0, false, false, false, false, false, false, 0.0, deltaY, 0.0, deltaY,
+                                          ScrollEvent.HorizontalTextScrollUnits.NONE, 0.0, ScrollEvent.VerticalTextScrollUnits.NONE, 0.0, 0, null);
+      return EventUtil.fireEvent(spinner, event) == null;
+   }
+
+   private static boolean fireMouse(Spinner<?> spinner, EventType<MouseEvent> type, Node picked)
+   {
+      MouseEvent event = new MouseEvent(type, 0.0, 0.0, 0.0, 0.0, MouseButton.PRIMARY, 1, false, false, false, false, true, false, false, false, false,
+                                        false, new PickResult(picked, 0.0, 0.0));
+      return EventUtil.fireEvent(spinner, event) == null;
+   }
+
+   private static <T> T callOnFX(Callable<T> callable) throws Exception
+   {
+      FutureTask<T> task = new FutureTask<>(callable);
+      Platform.runLater(task);
+      return task.get(10, TimeUnit.SECONDS);
+   }
+}
@@ -0,0 +1,157 @@
+package us.ihmc.javaFXExtensions.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SpinnerSteppingTest
+{
+   @Test
+   public void testLongOffset()
+   {
+      assertEquals(7L, SpinnerStepping.offset(1L, 2L, 3L));
+      assertEquals(-5L, SpinnerStepping.offset(1L, 2L, -3L));
+      assertEquals(Long.MAX_VALUE, SpinnerStepping.offset(Long.MAX_VALUE - 1L, 1L, 2L));
+      assertEquals(Long.MIN_VALUE, SpinnerStepping.offset(Long.MIN_VALUE + 1L, 1L, -2L));
+      // The product of the amount and the steps overflows.
+      assertEquals(Long.MAX_VALUE, SpinnerStepping.offset(0L, Long.MAX_VALUE, 3L));
+      assertEquals(Long.MIN_VALUE, SpinnerStepping.offset(0L, Long.MAX_VALUE, -3L));
+      assertEquals(Long.MAX_VALUE, SpinnerStepping.offset(0L, Long.MIN_VALUE, -1L));
+      assertEquals(Long.MAX_VALUE, SpinnerStepping.offset(0L, -3L, Long.MIN_VALUE));
+   }
+
+   @Test
+   public void testLongStep()
+   {
+      assertEquals(8L, SpinnerStepping.step(5L, 1L, 3L, 0L, 10L));
+      assertEquals(10L, SpinnerStepping.step(5L, 1L, 30L, 0L, 10L));
+      assertEquals(0L, SpinnerStepping.step(5L, 1L, -30L, 0L, 10L));
+      assertEquals(Long.MAX_VALUE, SpinnerStepping.step(0L, Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE));
+      assertEquals(Long.MIN_VALUE, SpinnerStepping.step(0L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE));
+   }
+
+   @Test
+   public void testLongWrapStep()
+   {
+      assertEquals(1L, SpinnerStepping.wrapStep(10L, 1L, 2L, 0L, 10L));
+      assertEquals(9L, SpinnerStepping.wrapStep(0L, 1L, -2L, 0L, 10L));
+      assertEquals(-3L, SpinnerStepping.wrapStep(3L, 1L, 5L, -5L, 5L));
+      // A single value, e.g. max == min == 0.
+      assertEquals(0L, SpinnerStepping.wrapStep(0L, 1L, 5L, 0L, 0L));
+      // The range covers all the longs.
+      assertEquals(Long.MIN_VALUE, SpinnerStepping.wrapStep(Long.MAX_VALUE, 1L, 1L, Long.MIN_VALUE, Long.MAX_VALUE));
+
+      Random random = new Random(9621L);
+
+      for (int i = 0; i < 100000; i++)
+      {
+         long min = randomLong(random);
+         long max = randomLong(random);
+         if (min > max)
+         {
+            long swap = min;
+            min = max;
+            max = swap;
+         }
+         long value = min + (long) ((max - (double) min) * random.nextDouble());
+         value = Math.max(min, Math.min(value, max));
+         long amountToStepBy = randomLong(random);
+         long steps = randomLong(random);
+
+         long expected = referenceWrapStep(value, amountToStepBy, steps, min, max);
+         long actual = SpinnerStepping.wrapStep(value, amountToStepBy, steps, min, max);
+         assertEquals(expected, actual, "value: " + value + ", amount: " + amountToStepBy + ", steps: " + steps + ", min: " + min + ", max: " + max);
+      }
+   }
+
+   @Test
+   public void testLongWrap()
+   {
+      assertEquals(5L, SpinnerStepping.wrap(5L, 0L, 10L));
+      assertEquals(0L, SpinnerStepping.wrap(11L, 0L, 10L));
+      assertEquals(10L, SpinnerStepping.wrap(-1L, 0L, 10L));
+      assertEquals(-5L, SpinnerStepping.wrap(6L, -5L, 5L));
+      assertEquals(100L, SpinnerStepping.wrap(100L + 11L * 1000000L, 100L, 110L));
+   }
+
+   @Test
+   public void testDoubleStep()
+   {
+      assertEquals(0.75, SpinnerStepping.step(0.5, 0.25, 1L, 0.0, 1.0));
+      assertEquals(1.0, SpinnerStepping.step(0.5, 0.25, 10L, 0.0, 1.0));
+      assertEquals(0.0, SpinnerStepping.step(0.5, 0.25, -10L, 0.0, 1.0));
+      assertEquals(Double.NaN, SpinnerStepping.step(Double.NaN, 0.25, 1L, 0.0, 1.0));
+      assertEquals(Double.POSITIVE_INFINITY, SpinnerStepping.step(Double.MAX_VALUE, Double.MAX_VALUE, 1L, 0.0, Double.POSITIVE_INFINITY));
+   }
+
+   @Test
+   public void testDoubleWrapStep()
+   {
+      assertEquals(0.25, SpinnerStepping.wrapStep(0.75, 0.5, 1L, 0.0, 1.0));
+      assertEquals(0.75, SpinnerStepping.wrapStep(0.25, 0.5, -1L, 0.0, 1.0));
+      // The max is part of the cycle, it is the same point as the min.
+      assertEquals(1.0, SpinnerStepping.wrapStep(0.5, 0.5, 1L, 0.0, 1.0));
+      assertEquals(0.5, SpinnerStepping.wrapStep(1.0, 0.5, 1L, 0.0, 1.0));
+      assertEquals(Double.NaN, SpinnerStepping.wrapStep(Double.NaN, 0.5, 1L, 0.0, 1.0));
+      // An unbounded range wraps to the opposite bound.
+      assertEquals(Double.NEGATIVE_INFINITY, SpinnerStepping.wrapStep(Double.MAX_VALUE, Double.MAX_VALUE, 1L, Double.NEGATIVE_INFINITY, Double.MAX_VALUE));
+
+      Random random = new Random(3047L);
+
+      for (int i = 0; i < 100000; i++)
+      {
+         double min = -10.0 + random.nextInt(20);
+         double max = min + 1 + random.nextInt(10);
+         double value = min + random.nextInt((int) (max - min) * 4) * 0.25;
+         // Large step counts, but small enough to be exact as doubles.
+         long steps = random.nextBoolean() ? random.nextInt(100) - 50 : random.nextLong() >> 12;
+
+         double actual = SpinnerStepping.wrapStep(value, 0.25, steps, min, max);
+         assertTrue(actual >= min && actual <= max, "Not within the range: " + actual);
+
+         // Exact reference: everything is a multiple of 0.25.
+         long quarters = 4L * (long) (max - min);
+         long offset = Math.floorMod((long) (4.0 * (value - min)) + Math.floorMod(steps, quarters), quarters);
+         // Landing exactly on the max is the same as landing on the min.
+         assertEquals(min + 0.25 * offset, actual == max ? min : actual, 1.0e-9, "value: " + value + ", steps: " + steps + ", min: " + min + ", max: " + max);
+      }
+   }
+
+   @Test
+   public void testDoubleWrap()
+   {
+      assertEquals(0.5, SpinnerStepping.wrap(0.5, 0.0, 1.0));
+      assertEquals(1.0, SpinnerStepping.wrap(1.0, 0.0, 1.0));
+      assertEquals(0.25, SpinnerStepping.wrap(1.25, 0.0, 1.0));
+      assertEquals(0.75, SpinnerStepping.wrap(-0.25, 0.0, 1.0));
+      assertEquals(0.5, SpinnerStepping.wrap(1.0e6 + 0.5, 0.0, 1.0));
+      // An empty range wraps to the opposite bound.
+      assertEquals(2.0, SpinnerStepping.wrap(-1.0, 2.0, 2.0));
+   }
+
+   private static long randomLong(Random random)
+   {
+      // Mostly values of moderate magnitude, with the extremes of the range.
+      switch (random.nextInt(4))
+      {
+         case 0:
+            return random.nextLong();
+         case 1:
+            return random.nextBoolean() ? Long.MAX_VALUE - random.nextInt(3) : Long.MIN_VALUE + random.nextInt(3);
+         default:
+            return random.nextInt(2001) - 1000;
+      }
+   }
+
+   private static long referenceWrapStep(long value, long amountToStepBy, long steps, long min, long max)
+   {
+      BigInteger size = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+      BigInteger offset = BigInteger.valueOf(value).subtract(BigInteger.valueOf(min));
+      offset = offset.add(BigInteger.valueOf(amountToStepBy).multiply(BigInteger.valueOf(steps)));
+      return BigInteger.valueOf(min).add(offset.mod(size)).longValueExact();
+   }
+}
@@ -0,0 +1,222 @@
+package us.ihmc.javaFXExtensions.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.javafx.application.PlatformImpl;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.control.SpinnerValueFactory;
+
+/**
+ * Tests {@link SpinnerValueCoalescer} through the {@code submitValue} methods of
+ * {@link LongSpinnerValueFactory} and {@link UnboundedDoubleSpinnerValueFactory}, headless using
+ * Monocle.
+ */
+public class SpinnerValueCoalescerTest
+{
+   @BeforeAll
+   public static void startToolkit() throws Exception
+   {
+      System.setProperty("glass.platform", "Monocle");
+      System.setProperty("monocle.platform", "Headless");
+      System.setProperty("prism.order", "sw");
+
+      CountDownLatch latch = new CountDownLatch(1);
+      try
+      {
+         PlatformImpl.startup(latch::countDown);
+      }
+      catch (IllegalStateException e)
+      {
+         // Already started by another test class.
+         Platform.runLater(latch::countDown);
+      }
+      latch.await();
+   }
+
+   @Test
+   public void testLatestValuePerPulse() throws Exception
+   {
+      LongSpinnerValueFactory valueFactory = callOnFX(() -> new LongSpinnerValueFactory(0L, 100000L, 0L));
+      List<Long> values = recordValues(valueFactory);
+
+      // The JavaFX Application Thread is held while the values are submitted, such that they all fall in the same pulse.
+      runWhileFXBlocked(() ->
+      {
+         for (long i = 1L; i <= 10000L; i++)
+         {
+            valueFactory.submitValue(i);
+         }
+      }, null);
+      awaitPulses(3);
+
+      assertEquals(1, callOnFX(values::size).intValue());
+      assertEquals(10000L, callOnFX(valueFactory::getValue).longValue());
+   }
+
+   @Test
+   public void testAtMostOneValuePerPulse() throws Exception
+   {
+      UnboundedDoubleSpinnerValueFactory valueFactory = callOnFX(() -> new UnboundedDoubleSpinnerValueFactory(0.0, 1.0e6, 0.0));
+      List<Double> values = recordValues(valueFactory);
+      int[] pulseCount = {0};
+      AnimationTimer pulseCounter = new AnimationTimer()
+      {
+         @Override
+         public void handle(long now)
+         {
+            pulseCount[0]++;
+         }
+      };
+      callOnFX(() ->
+      {
+         pulseCounter.start();
+         return null;
+      });
+
+      Thread submitter = new Thread(() ->
+      {
+         for (int i = 1; i <= 200000; i++)
+         {
+            valueFactory.submitValue(i);
+         }
+      });
+      submitter.start();
+      submitter.join();
+      awaitPulses(3);
+
+      int pulses = callOnFX(() ->
+      {
+         pulseCounter.stop();
+         return pulseCount[0];
+      });
+      // The pulse counter may start one pulse after the coalescer.
+      assertTrue(callOnFX(values::size) <= pulses + 1, values.size() + " values for " + pulses + " pulses");
+      assertEquals(200000.0, callOnFX(valueFactory::getValue).doubleValue());
+   }
+
+   @Test
+   public void testClamping() throws Exception
+   {
+      LongSpinnerValueFactory longFactory = callOnFX(() -> new LongSpinnerValueFactory(-10L, 10L, 0L));
+      longFactory.submitValue(Long.MAX_VALUE);
+      awaitPulses(3);
+      assertEquals(10L, callOnFX(longFactory::getValue).longValue());
+      longFactory.submitValue(-1000L);
+      awaitPulses(3);
+      assertEquals(-10L, callOnFX(longFactory::getValue).longValue());
+
+      // Clamped against the bounds at the time the value is applied, not submitted.
+      runWhileFXBlocked(() -> longFactory.submitValue(50L), () -> longFactory.setMax(20L));
+      awaitPulses(3);
+      assertEquals(20L, callOnFX(longFactory::getValue).longValue());
+
+      UnboundedDoubleSpinnerValueFactory doubleFactory = callOnFX(() -> new UnboundedDoubleSpinnerValueFactory(-1.0, 1.0, 0.0));
+      doubleFactory.submitValue(Double.POSITIVE_INFINITY);
+      awaitPulses(3);
+      assertEquals(1.0, callOnFX(doubleFactory::getValue).doubleValue());
+
+      runWhileFXBlocked(() -> doubleFactory.submitValue(-5.0), () -> doubleFactory.setMin(-2.0));
+      awaitPulses(3);
+      assertEquals(-2.0, callOnFX(doubleFactory::getValue).doubleValue());
+   }
+
+   @Test
+   public void testTimerStopsWhenDrained() throws Exception
+   {
+      LongSpinnerValueFactory valueFactory = callOnFX(() -> new LongSpinnerValueFactory(0L, 100L, 0L));
+
+      runWhileFXBlocked(() ->
+      {
+         valueFactory.submitValue(42L);
+         assertTrue(SpinnerValueCoalescer.getInstance().isActive());
+      }, null);
+      awaitPulses(3);
+
+      assertEquals(42L, callOnFX(valueFactory::getValue).longValue());
+      assertFalse(callOnFX(SpinnerValueCoalescer.getInstance()::isActive));
+
+      // A new value restarts the timer.
+      valueFactory.submitValue(7L);
+      awaitPulses(3);
+      assertEquals(7L, callOnFX(valueFactory::getValue).longValue());
+      assertFalse(callOnFX(SpinnerValueCoalescer.getInstance()::isActive));
+   }
+
+   private static <T> List<T> recordValues(SpinnerValueFactory<T> valueFactory) throws Exception
+   {
+      List<T> values = new ArrayList<>();
+      callOnFX(() ->
+      {
+         valueFactory.valueProperty().addListener((o, oldValue, newValue) -> values.add(newValue));
+         return null;
+      });
+      return values;
+   }
+
+   /**
+    * Runs {@code submission} on the calling thread while the JavaFX Application Thread is held, then
+    * runs {@code beforeRelease} on the JavaFX Application Thread, if any, before releasing it.
+    */
+   private static void runWhileFXBlocked(Runnable submission, Runnable beforeRelease) throws Exception
+   {
+      CountDownLatch blocked = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      FutureTask<Void> task = new FutureTask<>(() ->
+      {
+         blocked.countDown();
+         release.await();
+         if (beforeRelease != null)
+            beforeRelease.run();
+         return null;
+      });
+      Platform.runLater(task);
+      blocked.await();
+
+      try
+      {
+         submission.run();
+      }
+      finally
+      {
+         release.countDown();
+      }
+      task.get(10, TimeUnit.SECONDS);
+   }
+
+   private static void awaitPulses(int count) throws Exception
+   {
+      CountDownLatch latch = new CountDownLatch(count);
+      AnimationTimer timer = new AnimationTimer()
+      {
+         @Override
+         public void handle(long now)
+         {
+            latch.countDown();
+         }
+      };
+      Platform.runLater(timer::start);
+      assertTrue(latch.await(10, TimeUnit.SECONDS), "No pulse");
+      Platform.runLater(timer::stop);
+   }
+
+   private static <T> T callOnFX(Callable<T> callable) throws Exception
+   {
+      FutureTask<T> task = new FutureTask<>(callable);
+      Platform.runLater(task);
+      return task.get(10, TimeUnit.SECONDS);
+   }
+}
@@ -0,0 +1,108 @@
+package us.ihmc.javaFXExtensions.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class StepAcceleratorTest
+{
+   private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+   @Test
+   public void testBurst()
+   {
+      StepAccelerator accelerator = new StepAccelerator();
+      SpinnerAcceleration acceleration = SpinnerAcceleration.perRepeat(2.0, 1000.0);
+
+      assertEquals(1L, accelerator.accelerate(1L, acceleration, 0L));
+      assertEquals(2L, accelerator.accelerate(1L, acceleration, 50L * MILLIS));
+      assertEquals(4L, accelerator.accelerate(1L, acceleration, 100L * MILLIS));
+      assertEquals(24L, accelerator.accelerate(3L, acceleration, 150L * MILLIS));
+   }
+
+   @Test
+   public void testBurstResetOnDirectionChange()
+   {
+      StepAccelerator accelerator = new StepAccelerator();
+      SpinnerAcceleration acceleration = SpinnerAcceleration.perRepeat(2.0, 1000.0);
+
+      accelerator.accelerate(1L, acceleration, 0L);
+      assertEquals(2L, accelerator.accelerate(1L, acceleration, 50L * MILLIS));
+      assertEquals(-1L, accelerator.accelerate(-1L, acceleration, 100L * MILLIS));
+      assertEquals(-2L, accelerator.accelerate(-1L, acceleration, 150L * MILLIS));
+      assertEquals(1L, accelerator.accelerate(1L, acceleration, 200L * MILLIS));
+   }
+
+   @Test
+   public void testBurstResetOnTimeout()
+   {
+      StepAccelerator accelerator = new StepAccelerator();
+      SpinnerAcceleration acceleration = SpinnerAcceleration.perRepeat(2.0, 1000.0);
+      long timeout = acceleration.getRepeatTimeout();
+
+      accelerator.accelerate(1L, acceleration, 0L);
+      // Exactly the timeout apart is still the same burst.
+      assertEquals(2L, accelerator.accelerate(1L, acceleration, timeout));
+      assertEquals(1L, accelerator.accelerate(1L, acceleration, 2L * timeout + 1L));
+
+      // Disabling the acceleration ends the burst.
+      assertEquals(1L, accelerator.accelerate(1L, null, 2L * timeout + 2L));
+      assertEquals(1L, accelerator.accelerate(1L, acceleration, 2L * timeout + 3L));
+   }
+
+   @Test
+   public void testCurves()
+   {
+      long second = TimeUnit.SECONDS.toNanos(1L);
+
+      SpinnerAcceleration exponential = SpinnerAcceleration.exponential(0.5, 10.0);
+      assertEquals(1.0, exponential.getStepMultiplier(0L, 0L), 1.0e-12);
+      assertEquals(4.0, exponential.getStepMultiplier(second, 5L), 1.0e-12);
+      assertEquals(10.0, exponential.getStepMultiplier(10L * second, 5L));
+
+      SpinnerAcceleration linear = SpinnerAcceleration.linear(3.0, 5.0);
+      assertEquals(1.0, linear.getStepMultiplier(0L, 0L));
+      assertEquals(4.0, linear.getStepMultiplier(second, 5L), 1.0e-12);
+      assertEquals(5.0, linear.getStepMultiplier(10L * second, 5L));
+
+      SpinnerAcceleration perRepeat = SpinnerAcceleration.perRepeat(1.5, 3.0);
+      assertEquals(1.0, perRepeat.getStepMultiplier(second, 0L));
+      assertEquals(2.25, perRepeat.getStepMultiplier(0L, 2L));
+      assertEquals(3.0, perRepeat.getStepMultiplier(0L, 100L));
+   }
+
+   @Test
+   public void testMultiplierClamping()
+   {
+      StepAccelerator accelerator = new StepAccelerator();
+
+      // Multipliers that do not accelerate leave the steps as is.
+      assertEquals(7L, accelerator.accelerate(7L, (holdDuration, repeatCount) -> 0.5, 0L));
+      assertEquals(-7L, accelerator.accelerate(-7L, (holdDuration, repeatCount) -> -3.0, 0L));
+      assertEquals(7L, accelerator.accelerate(7L, (holdDuration, repeatCount) -> Double.NaN, 0L));
+      assertEquals(0L, accelerator.accelerate(0L, (holdDuration, repeatCount) -> 10.0, 0L));
+   }
+
+   @Test
+   public void testSaturation()
+   {
+      StepAccelerator accelerator = new StepAccelerator();
+
+      assertEquals(Long.MAX_VALUE, accelerator.accelerate(1000L, (holdDuration, repeatCount) -> 1.0e300, 0L));
+      assertEquals(Long.MIN_VALUE, accelerator.accelerate(-1000L, (holdDuration, repeatCount) -> 1.0e300, 0L));
+      assertEquals(Long.MAX_VALUE, accelerator.accelerate(Integer.MAX_VALUE, (holdDuration, repeatCount) -> Double.POSITIVE_INFINITY, 0L));
+
+      // The saturated steps are handled by the factories without overflowing.
+      PrimitiveLongSpinnerValueFactory valueFactory = new PrimitiveLongSpinnerValueFactory(Long.MIN_VALUE, Long.MAX_VALUE, 0L, 1000L);
+      valueFactory.setAcceleration((holdDuration, repeatCount) -> 1.0e300);
+      valueFactory.incrementAccelerated(1);
+      assertEquals(Long.MAX_VALUE, valueFactory.getLongValue());
+      valueFactory.decrementAccelerated(1);
+      assertEquals(Long.MIN_VALUE, valueFactory.getLongValue());
+      // The programmatic stepping is exact.
+      valueFactory.increment(2);
+      assertEquals(Long.MIN_VALUE + 2000L, valueFactory.getLongValue());
+   }
+}